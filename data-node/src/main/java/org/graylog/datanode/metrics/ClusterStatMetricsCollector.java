@@ -42,6 +42,8 @@ public class ClusterStatMetricsCollector {
         org.opensearch.client.opensearch.generic.Request nodeStatRequest = Requests.builder()
                 .method("GET")
                 .endpoint("_stats")
+                // the per-index breakdown grows with the cluster, only the totals are needed
+                .query(Map.of("level", "cluster", "filter_path", "_shards,_all.primaries.docs,_all.total.search,_all.total.indexing"))
                 .build();
         JsonNode responseNode = client.performRequest(nodeStatRequest, "Error retrieving cluster metrics");
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.datanode.metrics;
+
+import jakarta.inject.Singleton;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the most recent metrics samples of this data node in memory, so that they can be charted without querying
+ * the metrics data stream.
+ */
+@Singleton
+public class MetricsHistory {
+    // one hour with the default collection period of 60 seconds
+    static final int MAX_SAMPLES = 60;
+
+    private final Deque<Map<String, Object>> samples = new ArrayDeque<>(MAX_SAMPLES);
+
+    public synchronized void add(Map<String, Object> sample) {
+        if (samples.size() == MAX_SAMPLES) {
+            samples.removeFirst();
+        }
+        samples.addLast(Collections.unmodifiableMap(new HashMap<>(sample)));
+    }
+
+    /**
+     * @return the recorded samples, oldest first
+     */
+    public synchronized List<Map<String, Object>> samples() {
+        return List.copyOf(samples);
+    }
+}
@@ -40,6 +40,9 @@ public class NodeMetricsCollector {
     private final ObjectMapper objectMapper;
     Logger log = LoggerFactory.getLogger(NodeMetricsCollector.class);
 
+    // only the stats groups read by NodeStatMetrics
+    private static final String NODE_STATS_METRICS = "os,jvm,fs,indices,thread_pool";
+
     public NodeMetricsCollector(OfficialOpensearchClient client, ObjectMapper objectMapper) {
         this.client = client;
         this.objectMapper = objectMapper;
@@ -50,7 +53,7 @@ public class NodeMetricsCollector {
 
         Request nodeStatRequest = Requests.builder()
                 .method("GET")
-                .endpoint("_nodes/" + node + "/stats")
+                .endpoint("_nodes/" + node + "/stats/" + NODE_STATS_METRICS)
                 .build();
         final DocumentContext nodeContext = getNodeContextFromRequest(node, nodeStatRequest);
 
@@ -24,6 +24,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.inject.Inject;
 import org.graylog.datanode.Configuration;
 import org.graylog.datanode.metrics.ClusterStatMetricsCollector;
+import org.graylog.datanode.metrics.MetricsHistory;
 import org.graylog.datanode.metrics.NodeMetricsCollector;
 import org.graylog.datanode.metrics.NodeStatMetrics;
 import org.graylog.datanode.opensearch.OpensearchProcess;
@@ -64,15 +65,22 @@ public class MetricsCollector extends Periodical {
     private ClusterStatMetricsCollector clusterStatMetricsCollector;
     private final ObjectMapper objectMapper;
     private final MetricRegistry metricRegistry;
+    private final MetricsHistory metricsHistory;
+
+    // The cluster metrics of the last run, used to calculate rates without searching the metrics data stream
+    private Map<String, Object> previousClusterMetrics = Map.of();
+    private DateTime previousClusterMetricsTimestamp;
 
     private final static Map<String, Object> opensearchMetrics = new ConcurrentHashMap<>();
 
     @Inject
-    public MetricsCollector(OpensearchProcess process, Configuration configuration, ObjectMapper objectMapper, MetricRegistry metricRegistry) {
+    public MetricsCollector(OpensearchProcess process, Configuration configuration, ObjectMapper objectMapper, MetricRegistry metricRegistry,
+                            MetricsHistory metricsHistory) {
         this.process = process;
         this.configuration = configuration;
         this.objectMapper = objectMapper;
         this.metricRegistry = metricRegistry;
+        this.metricsHistory = metricsHistory;
         registerNodeStatMetrics();
     }
 
@@ -147,10 +155,14 @@ public class MetricsCollector extends Periodical {
                         .index(configuration.getMetricsStream())
                         .document(finalMetrics)
                 ));
+                metricsHistory.add(finalMetrics);
 
                 if (process.isManagerNode()) {
-                    metrics = new HashMap<>(clusterStatMetricsCollector.getClusterMetrics(getPreviousMetricsForCluster(client)));
-                    metrics.put(configuration.getMetricsTimestamp(), new DateTime(DateTimeZone.UTC));
+                    final DateTime now = new DateTime(DateTimeZone.UTC);
+                    metrics = new HashMap<>(clusterStatMetricsCollector.getClusterMetrics(getPreviousMetricsForCluster(client, now)));
+                    metrics.put(configuration.getMetricsTimestamp(), now);
+                    previousClusterMetrics = metrics;
+                    previousClusterMetricsTimestamp = now;
                     final Map<String, Object> clusterMetrics = metrics;
                     indexDocument(client, IndexRequest.of(i -> i
                             .index(configuration.getMetricsStream())
@@ -196,7 +208,12 @@ public class MetricsCollector extends Periodical {
         return 100 * (float) memoryUsage.getUsed() / memoryUsage.getCommitted();
     }
 
-    private Map<String, Object> getPreviousMetricsForCluster(OfficialOpensearchClient client) {
+    private Map<String, Object> getPreviousMetricsForCluster(OfficialOpensearchClient client, DateTime now) {
+        // Another node might have collected the cluster metrics since our last run if the manager node changed
+        if (previousClusterMetricsTimestamp != null && previousClusterMetricsTimestamp.plusSeconds(2 * getPeriodSeconds()).isAfter(now)) {
+            return previousClusterMetrics;
+        }
+
         SearchRequest searchRequest = SearchRequest.of(r -> r
                 .index(configuration.getMetricsStream())
                 .query(Query.of(q -> q.bool(b -> b.mustNot(Query.of(q2 -> q2.exists(e -> e.field("node")))))))
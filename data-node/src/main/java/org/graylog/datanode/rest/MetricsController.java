@@ -31,6 +31,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import org.graylog.datanode.metrics.MetricsHistory;
 import org.graylog2.rest.models.system.metrics.requests.MetricsReadRequest;
 import org.graylog2.rest.models.system.metrics.responses.MetricNamesResponse;
 import org.graylog2.rest.models.system.metrics.responses.MetricsSummaryResponse;
@@ -44,10 +45,12 @@ import java.util.Map;
 public class MetricsController {
 
     private final MetricRegistry metricRegistry;
+    private final MetricsHistory metricsHistory;
 
     @Inject
-    public MetricsController(MetricRegistry metricRegistry) {
+    public MetricsController(MetricRegistry metricRegistry, MetricsHistory metricsHistory) {
         this.metricRegistry = metricRegistry;
+        this.metricsHistory = metricsHistory;
     }
 
     @GET
@@ -63,6 +66,13 @@ public class MetricsController {
         return MetricNamesResponse.create(metricRegistry.getNames());
     }
 
+    @GET
+    @Timed
+    @Path("/history")
+    public List<Map<String, Object>> metricsHistory() {
+        return metricsHistory.samples();
+    }
+
     @GET
     @Timed
     @Path("/{metricName}")
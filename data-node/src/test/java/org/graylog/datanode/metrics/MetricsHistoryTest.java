@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.datanode.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsHistoryTest {
+
+    @Test
+    public void keepsOnlyMostRecentSamples() {
+        final MetricsHistory history = new MetricsHistory();
+        IntStream.range(0, MetricsHistory.MAX_SAMPLES + 2).forEach(i -> history.add(Map.of("sample", i)));
+
+        final List<Map<String, Object>> samples = history.samples();
+        assertThat(samples).hasSize(MetricsHistory.MAX_SAMPLES);
+        assertThat(samples.getFirst()).containsEntry("sample", 2);
+        assertThat(samples.getLast()).containsEntry("sample", MetricsHistory.MAX_SAMPLES + 1);
+    }
+}
@@ -37,7 +37,7 @@ public class NodeMetricsCollectorTest {
     @BeforeEach
     public void setUp() throws IOException {
         final OfficialOpensearchClient client = ServerlessOpenSearchClient.builder()
-                .stubResponse("GET", "_nodes/" + NODENAME + "/stats", nodeStatResponse)
+                .stubResponse("GET", "_nodes/" + NODENAME + "/stats/os,jvm,fs,indices,thread_pool", nodeStatResponse)
                 .build();
         this.collector = new NodeMetricsCollector(client, new ObjectMapperProvider().get());
     }
@@ -26,6 +26,7 @@ import org.graylog2.indexer.IndexNotFoundException;
 import org.graylog2.indexer.indexset.IndexSet;
 import org.graylog2.indexer.indexset.registry.IndexSetRegistry;
 import org.graylog2.indexer.indexset.IndexSetConfig;
+import org.graylog2.indexer.ranges.IndexRangeService;
 import org.graylog2.indexer.retention.strategies.DeletionRetentionStrategy;
 import org.graylog2.indexer.retention.strategies.DeletionRetentionStrategyConfig;
 import org.graylog2.indexer.rotation.strategies.MessageCountRotationStrategy;
@@ -76,7 +77,7 @@ public class CountsIT extends SearchServerBaseTest {
         client().createIndex(INDEX_NAME_3, 1, 0);
         client().waitForGreenStatus(INDEX_NAME_1, INDEX_NAME_2, INDEX_NAME_3);
 
-        counts = new Counts(indexSetRegistry, searchServer().adapters().countsAdapter());
+        counts = new Counts(indexSetRegistry, searchServer().adapters().countsAdapter(), mock(IndexRangeService.class));
 
         indexSetConfig1 = IndexSetConfig.builder()
                 .id("id-1")
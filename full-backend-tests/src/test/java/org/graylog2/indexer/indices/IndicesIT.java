@@ -26,6 +26,7 @@ import org.assertj.core.api.Assertions;
 import org.graylog.testing.completebackend.FullBackendTest;
 import org.graylog.testing.completebackend.GraylogBackendConfiguration;
 import org.graylog.testing.completebackend.Lifecycle;
+import org.graylog.testing.elasticsearch.BulkIndexRequest;
 import org.graylog.testing.elasticsearch.SearchServerBaseTest;
 import org.graylog2.audit.NullAuditEventSender;
 import org.graylog2.indexer.IndexNotFoundException;
@@ -268,6 +269,24 @@ public class IndicesIT extends SearchServerBaseTest {
         assertThrows(IndexNotFoundException.class, () -> indices.indexRangeStatsOfIndex("does-not-exist"));
     }
 
+    @FullBackendTest
+    public void fieldValuesOfIndexOnlyRecordsKeywordFields() {
+        final String index = createRandomIndex("indices_it_");
+        client().putFieldMapping(index, "source", "keyword");
+        client().putFieldMapping(index, "took", "double");
+        final BulkIndexRequest bulkIndexRequest = new BulkIndexRequest();
+        bulkIndexRequest.addRequest(index, Map.of("source", "example.org", "took", 1));
+        bulkIndexRequest.addRequest(index, Map.of("source", "example.com", "took", 2));
+        client().bulkIndex(bulkIndexRequest);
+
+        final Map<String, List<String>> fieldValues = indices.fieldValuesOfIndex(index, Set.of("source", "took", "unmapped"), 10);
+
+        // "took" would be recorded as "1.0" and "2.0", which would rule out the index for a "took:1" query
+        assertThat(fieldValues).containsOnlyKeys("source", "unmapped");
+        assertThat(fieldValues.get("source")).containsExactlyInAnyOrder("example.org", "example.com");
+        assertThat(fieldValues.get("unmapped")).isEmpty();
+    }
+
     @FullBackendTest
     public void createEnsuresIndexTemplateExists() {
         final String indexName = "index_template_test";
@@ -248,10 +248,14 @@ public class ElasticsearchBackend implements QueryBackend<ESGeneratedQueryContex
         LOG.debug("Running query {} for job {}", query.id(), job.getId());
         final HashMap<String, SearchType.Result> resultsMap = Maps.newHashMap();
 
-        final Set<String> affectedIndices = indexLookup.indexNamesForStreamsInTimeRange(query.usedStreamIds(), query.timerange());
+        // the root query applies to all search types, so values it requires allow skipping indices for all of them
+        final Map<String, Set<String>> requiredFieldValues = indexLookup.requiredFieldValues(query.query());
+        final Set<String> affectedIndices = indexNamesForStreamsInTimeRange(query.usedStreamIds(), query.timerange(), requiredFieldValues);
 
         final Map<String, SearchSourceBuilder> searchTypeQueries = queryContext.searchTypeQueries();
         final List<String> searchTypeIds = new ArrayList<>(searchTypeQueries.keySet());
+        // widgets on the same dashboard usually share streams and time range, so only resolve their indices once
+        final Map<IndexLookupKey, Set<String>> indicesForStreamsAndTimeRange = new HashMap<>();
 
         final List<SearchRequest> searches = searchTypeIds
                 .stream()
@@ -264,7 +268,9 @@ public class ElasticsearchBackend implements QueryBackend<ESGeneratedQueryContex
                                         && searchType.timerange().isEmpty()) {
                                     return Optional.empty();
                                 }
-                                return Optional.of(indexLookup.indexNamesForStreamsInTimeRange(query.effectiveStreams(searchType), query.effectiveTimeRange(searchType)));
+                                return Optional.of(indicesForStreamsAndTimeRange.computeIfAbsent(
+                                        new IndexLookupKey(query.effectiveStreams(searchType), query.effectiveTimeRange(searchType)),
+                                        key -> indexNamesForStreamsInTimeRange(key.streams(), key.timeRange(), requiredFieldValues)));
                             })
                             .orElse(affectedIndices);
 
@@ -329,6 +335,14 @@ public class ElasticsearchBackend implements QueryBackend<ESGeneratedQueryContex
                 .build();
     }
 
+    private record IndexLookupKey(Set<String> streams, TimeRange timeRange) {}
+
+    private Set<String> indexNamesForStreamsInTimeRange(Set<String> streamIds, TimeRange timeRange, Map<String, Set<String>> requiredFieldValues) {
+        return requiredFieldValues.isEmpty()
+                ? indexLookup.indexNamesForStreamsInTimeRange(streamIds, timeRange)
+                : indexLookup.indexNamesForStreamsInTimeRange(streamIds, timeRange, requiredFieldValues);
+    }
+
     @NotNull
     private static List<MultiSearchResponse.Item> getResults(PlainActionFuture<MultiSearchResponse> mSearchFuture,
                                                              final Integer cancelAfterSeconds,
@@ -117,6 +117,27 @@ public class ElasticsearchBackendSearchTypesWithStreamsOverridesTest extends Ela
         assertThat(indicesOf(request).get(1)).isEqualTo("index1,index2");
     }
 
+    @Test
+    public void searchTypesWithSameStreamsShareIndexLookupButKeepTheirOwnRequests() {
+        final Query query = queryFor(Pivot.builder()
+                                .id("pivot1")
+                                .series(Collections.singletonList(Average.builder().field("field1").build()))
+                                .rollup(true)
+                                .streams(Collections.singleton(stream2Id))
+                                .build(),
+                        Pivot.builder()
+                                .id("pivot2")
+                                .series(Collections.singletonList(Average.builder().field("field1").build()))
+                                .rollup(true)
+                                .streams(Collections.singleton(stream2Id))
+                                .build());
+
+        final List<SearchRequest> request = run(query);
+        assertThat(request).hasSize(2);
+        assertThat(indicesOf(request)).containsExactly("index3", "index3");
+        verify(indexLookup, times(1)).indexNamesForStreamsInTimeRange(eq(ImmutableSet.of(stream2Id)), any());
+    }
+
     private Query queryFor(SearchType... searchTypes) {
         return Query.builder()
                 .id("query1")
@@ -59,6 +59,7 @@ import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.Aggrega
 import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.bucket.MultiBucketsAggregation;
 import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.bucket.filter.Filter;
 import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
+import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.bucket.terms.ParsedStringTerms;
 import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.bucket.terms.Terms;
 import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.metrics.Max;
 import org.graylog.shaded.opensearch2.org.opensearch.search.aggregations.metrics.Min;
@@ -580,7 +581,40 @@ public class IndicesAdapterOS2 implements IndicesAdapter {
                 .map(MultiBucketsAggregation.Bucket::getKeyAsString)
                 .collect(toList());
 
-        return IndexRangeStats.create(min, max, streamIds);
+        return IndexRangeStats.create(min, max, streamIds, f.getDocCount());
+    }
+
+    @Override
+    public Map<String, List<String>> fieldValuesOfIndex(String index, Set<String> fields, int maxValues) {
+        final List<String> fieldList = List.copyOf(fields);
+        final SearchSourceBuilder query = SearchSourceBuilder.searchSource().size(0);
+        for (int i = 0; i < fieldList.size(); i++) {
+            // request one more value than allowed to detect fields exceeding the limit
+            query.aggregation(AggregationBuilders.terms("values_" + i).field(fieldList.get(i)).size(maxValues + 1));
+        }
+
+        final SearchRequest request = new SearchRequest()
+                .source(query)
+                .indices(index)
+                .indicesOptions(IndicesOptions.lenientExpandOpen());
+
+        final SearchResponse result = client.execute((c, requestOptions) -> c.search(request, requestOptions),
+                "Couldn't collect field values of index " + index);
+
+        final Map<String, List<String>> fieldValues = new HashMap<>();
+        if (result.getAggregations() == null) {
+            return fieldValues;
+        }
+        for (int i = 0; i < fieldList.size(); i++) {
+            final Terms terms = result.getAggregations().get("values_" + i);
+            // numeric and date keys are formatted differently than in a query, so they can't be compared to query terms
+            if (terms instanceof ParsedStringTerms && terms.getBuckets().size() <= maxValues) {
+                fieldValues.put(fieldList.get(i), terms.getBuckets().stream()
+                        .map(MultiBucketsAggregation.Bucket::getKeyAsString)
+                        .collect(toList()));
+            }
+        }
+        return fieldValues;
     }
 
     @Override
@@ -46,6 +46,8 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
@@ -65,15 +67,19 @@ public class OpenSearchExportBackend implements ExportBackend {
 
     private final UsedSearchFiltersToQueryStringsMapper usedSearchFiltersToQueryStringsMapper;
 
+    private final ExportChunkPrefetchExecutor chunkPrefetchExecutor;
+
     @Inject
     public OpenSearchExportBackend(IndexLookup indexLookup,
                                    RequestStrategy requestStrategy,
                                    @Named("allow_leading_wildcard_searches") boolean allowLeadingWildcard,
-                                   final UsedSearchFiltersToQueryStringsMapper usedSearchFiltersToQueryStringsMapper) {
+                                   final UsedSearchFiltersToQueryStringsMapper usedSearchFiltersToQueryStringsMapper,
+                                   ExportChunkPrefetchExecutor chunkPrefetchExecutor) {
         this.indexLookup = indexLookup;
         this.requestStrategy = requestStrategy;
         this.allowLeadingWildcard = allowLeadingWildcard;
         this.usedSearchFiltersToQueryStringsMapper = usedSearchFiltersToQueryStringsMapper;
+        this.chunkPrefetchExecutor = chunkPrefetchExecutor;
     }
 
     @Override
@@ -81,30 +87,51 @@ public class OpenSearchExportBackend implements ExportBackend {
         boolean isFirstChunk = true;
         int totalCount = 0;
 
+        List<SearchHit> hits = search(command);
         while (true) {
-            List<SearchHit> hits = search(command);
-
             if (hits.isEmpty()) {
                 publishChunk(chunkCollector, hits, command.fieldsInOrder(), command.timeZone(), SimpleMessageChunk.ChunkOrder.LAST);
                 return;
             }
 
+            totalCount += hits.size();
+            final boolean limitReached = command.limit().isPresent() && totalCount >= command.limit().getAsInt();
+
+            // The search after values of the next chunk are known by now, so fetch it while the current one is published.
+            final CompletableFuture<List<SearchHit>> nextHits = limitReached
+                    ? null
+                    : CompletableFuture.supplyAsync(() -> search(command), chunkPrefetchExecutor);
+
             boolean success = publishChunk(chunkCollector, hits, command.fieldsInOrder(), command.timeZone(), isFirstChunk ? SimpleMessageChunk.ChunkOrder.FIRST : SimpleMessageChunk.ChunkOrder.INTERMEDIATE);
             if (!success) {
+                if (nextHits != null) {
+                    nextHits.cancel(false);
+                }
                 return;
             }
 
-            totalCount += hits.size();
-            if (command.limit().isPresent() && totalCount >= command.limit().getAsInt()) {
+            if (limitReached) {
                 LOG.info("Limit of {} reached. Stopping message retrieval.", command.limit().getAsInt());
                 publishChunk(chunkCollector, Collections.emptyList(), command.fieldsInOrder(), command.timeZone(), SimpleMessageChunk.ChunkOrder.LAST);
                 return;
             }
 
+            hits = awaitChunk(nextHits);
             isFirstChunk = false;
         }
     }
 
+    private static <T> T awaitChunk(CompletableFuture<T> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     private List<SearchHit> search(ExportMessagesCommand command) {
         SearchRequest search = prepareSearchRequest(command);
 
@@ -19,11 +19,15 @@ package org.graylog.storage.opensearch2.views.export;
 import org.graylog.plugins.views.search.searchfilters.db.UsedSearchFiltersToQueryStringsMapper;
 import org.graylog.storage.opensearch2.OpenSearchClient;
 import org.graylog.storage.views.export.ExportBackendITHelper;
+import org.graylog2.system.shutdown.GracefulShutdownService;
+
+import static org.mockito.Mockito.mock;
 
 public class OpenSearchExportBackendITHelper extends ExportBackendITHelper {
 
     public OpenSearchExportBackendITHelper(OpenSearchClient openSearchClient, UsedSearchFiltersToQueryStringsMapper filters, String... indices) {
-        super(new OpenSearchExportBackend(mockIndexLookup(indices), requestStrategy(openSearchClient), false, filters));
+        super(new OpenSearchExportBackend(mockIndexLookup(indices), requestStrategy(openSearchClient), false, filters,
+                new ExportChunkPrefetchExecutor(mock(GracefulShutdownService.class))));
     }
 
     private static RequestStrategy requestStrategy(OpenSearchClient client) {
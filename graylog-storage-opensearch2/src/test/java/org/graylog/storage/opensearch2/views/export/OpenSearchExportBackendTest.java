@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.storage.opensearch2.views.export;
+
+import org.graylog.plugins.views.search.elasticsearch.IndexLookup;
+import org.graylog.plugins.views.search.export.ExportMessagesCommand;
+import org.graylog.plugins.views.search.export.SimpleMessageChunk;
+import org.graylog.plugins.views.search.searchfilters.db.UsedSearchFiltersToQueryStringsMapper;
+import org.graylog.shaded.opensearch2.org.opensearch.search.SearchHit;
+import org.graylog2.system.shutdown.GracefulShutdownService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpenSearchExportBackendTest {
+    private final RequestStrategy requestStrategy = mock(RequestStrategy.class);
+    private final ExportChunkPrefetchExecutor chunkPrefetchExecutor = new ExportChunkPrefetchExecutor(mock(GracefulShutdownService.class));
+
+    private OpenSearchExportBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        final IndexLookup indexLookup = mock(IndexLookup.class);
+        when(indexLookup.indexNamesForStreamsInTimeRange(any(), any())).thenReturn(Set.of("graylog_0"));
+        when(requestStrategy.configure(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        backend = new OpenSearchExportBackend(indexLookup, requestStrategy, false,
+                mock(UsedSearchFiltersToQueryStringsMapper.class), chunkPrefetchExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        chunkPrefetchExecutor.doGracefulShutdown();
+    }
+
+    @Test
+    void publishesChunksInOrderWhileNextChunkIsPrefetched() {
+        final CountDownLatch prefetchStarted = new CountDownLatch(1);
+        final CountDownLatch firstChunkPublished = new CountDownLatch(1);
+        final List<SearchHit> firstHits = List.of(hit("a"), hit("b"));
+        final List<SearchHit> secondHits = List.of(hit("c"));
+
+        when(requestStrategy.nextChunk(any(), any()))
+                .thenReturn(firstHits)
+                .thenAnswer(invocation -> {
+                    prefetchStarted.countDown();
+                    firstChunkPublished.await(10, SECONDS);
+                    return secondHits;
+                })
+                .thenReturn(List.of());
+
+        final List<SimpleMessageChunk> chunks = new ArrayList<>();
+        backend.run(command(2), chunk -> {
+            if (chunk.isFirstChunk()) {
+                // The second chunk is requested before the first one has been published.
+                try {
+                    assertThat(prefetchStarted.await(10, SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                firstChunkPublished.countDown();
+            }
+            chunks.add(chunk);
+        });
+
+        assertThat(chunks).extracting(SimpleMessageChunk::chunkOrder).containsExactly(
+                SimpleMessageChunk.ChunkOrder.FIRST,
+                SimpleMessageChunk.ChunkOrder.INTERMEDIATE,
+                SimpleMessageChunk.ChunkOrder.LAST);
+        assertThat(chunks).extracting(this::messagesOf).containsExactly(
+                List.of("a", "b"),
+                List.of("c"),
+                List.of());
+        verify(requestStrategy, times(3)).nextChunk(any(), any());
+    }
+
+    @Test
+    void doesNotPrefetchOnceLimitIsReached() {
+        final List<SearchHit> firstHits = List.of(hit("a"), hit("b"));
+        final List<SearchHit> secondHits = List.of(hit("c"), hit("d"));
+        final List<SearchHit> thirdHits = List.of(hit("e"), hit("f"));
+
+        when(requestStrategy.nextChunk(any(), any()))
+                .thenReturn(firstHits)
+                .thenReturn(secondHits)
+                .thenReturn(thirdHits);
+
+        final List<SimpleMessageChunk> chunks = new ArrayList<>();
+        backend.run(command(2, 3), chunks::add);
+
+        assertThat(chunks).extracting(SimpleMessageChunk::chunkOrder).containsExactly(
+                SimpleMessageChunk.ChunkOrder.FIRST,
+                SimpleMessageChunk.ChunkOrder.INTERMEDIATE,
+                SimpleMessageChunk.ChunkOrder.LAST);
+        assertThat(chunks).extracting(this::messagesOf).containsExactly(
+                List.of("a", "b"),
+                List.of("c", "d"),
+                List.of());
+        verify(requestStrategy, times(2)).nextChunk(any(), any());
+    }
+
+    private ExportMessagesCommand command(int chunkSize) {
+        return ExportMessagesCommand.builder()
+                .chunkSize(chunkSize)
+                .build();
+    }
+
+    private ExportMessagesCommand command(int chunkSize, int limit) {
+        return ExportMessagesCommand.builder()
+                .chunkSize(chunkSize)
+                .limit(limit)
+                .build();
+    }
+
+    private List<Object> messagesOf(SimpleMessageChunk chunk) {
+        return chunk.messages().stream()
+                .map(message -> message.valueFor("message"))
+                .toList();
+    }
+
+    private SearchHit hit(String message) {
+        final SearchHit hit = mock(SearchHit.class);
+        when(hit.getSourceAsMap()).thenReturn(Map.of("message", message));
+        when(hit.getIndex()).thenReturn("graylog_0");
+        return hit;
+    }
+}
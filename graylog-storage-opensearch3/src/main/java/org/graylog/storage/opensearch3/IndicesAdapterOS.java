@@ -53,6 +53,7 @@ import org.joda.time.DateTimeZone;
 import org.opensearch.client.json.JsonData;
 import org.opensearch.client.opensearch._types.ExpandWildcard;
 import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
 import org.opensearch.client.opensearch._types.aggregations.Aggregation;
 import org.opensearch.client.opensearch._types.aggregations.FilterAggregate;
 import org.opensearch.client.opensearch._types.aggregations.MaxAggregate;
@@ -689,7 +690,54 @@ public class IndicesAdapterOS implements IndicesAdapter {
                 .map(StringTermsBucket::key)
                 .collect(toList());
 
-        return IndexRangeStats.create(min, max, streamIds);
+        return IndexRangeStats.create(min, max, streamIds, f.docCount());
+    }
+
+    @Override
+    public Map<String, List<String>> fieldValuesOfIndex(String index, Set<String> fields, int maxValues) {
+        final List<String> fieldList = List.copyOf(fields);
+        final Map<String, Aggregation> aggregations = new HashMap<>();
+        for (int i = 0; i < fieldList.size(); i++) {
+            final String field = fieldList.get(i);
+            // request one more value than allowed to detect fields exceeding the limit
+            aggregations.put("values_" + i, Aggregation.of(b -> b.terms(t -> t.field(field).size(maxValues + 1))));
+        }
+
+        SearchRequest request = SearchRequest.of(r -> r
+                .index(index)
+                .size(0)
+                .aggregations(aggregations)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+        );
+
+        org.opensearch.client.opensearch.core.SearchResponse<Void> result = c.execute(() -> c.sync().search(request, Void.class),
+                "Couldn't collect field values of index " + index);
+
+        final Map<String, List<String>> fieldValues = new HashMap<>();
+        if (result.aggregations() == null) {
+            return fieldValues;
+        }
+        for (int i = 0; i < fieldList.size(); i++) {
+            final Aggregate aggregate = result.aggregations().get("values_" + i);
+            if (aggregate == null) {
+                continue;
+            }
+            final List<String> values;
+            if (aggregate.isSterms()) {
+                values = aggregate.sterms().buckets().array().stream()
+                        .map(StringTermsBucket::key)
+                        .collect(toList());
+            } else {
+                // unmapped fields have no values. numeric and date keys are formatted differently than in a query,
+                // so they can't be compared to query terms
+                values = aggregate.isUmterms() ? List.of() : null;
+            }
+            if (values != null && values.size() <= maxValues) {
+                fieldValues.put(fieldList.get(i), values);
+            }
+        }
+        return fieldValues;
     }
 
     @Override
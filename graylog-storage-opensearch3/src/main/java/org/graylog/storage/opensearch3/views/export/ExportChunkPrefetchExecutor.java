@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.storage.opensearch3.views.export;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.graylog2.system.shutdown.GracefulShutdownHook;
+import org.graylog2.system.shutdown.GracefulShutdownService;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the next chunk of an export while the current one is written to the client.
+ * <p>
+ * The pool is bounded and does not queue: when all threads are busy, or after the server started shutting down,
+ * the chunk is fetched on the exporting thread itself. Exports then lose the overlap, but never wait for a
+ * prefetch that is not going to run.
+ */
+@Singleton
+public class ExportChunkPrefetchExecutor implements Executor, GracefulShutdownHook {
+    private static final int MAX_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public ExportChunkPrefetchExecutor(GracefulShutdownService gracefulShutdownService) {
+        this.executor = new ThreadPoolExecutor(0, MAX_THREADS, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("export-chunk-prefetch-%d")
+                        .setDaemon(true)
+                        .build(),
+                (task, pool) -> task.run());
+        gracefulShutdownService.register(this);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public void doGracefulShutdown() {
+        executor.shutdown();
+    }
+}
@@ -55,6 +55,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -74,13 +76,17 @@ public class OpenSearchExportBackend implements ExportBackend {
 
     private final OfficialOpensearchClient opensearchClient;
 
+    private final ExportChunkPrefetchExecutor chunkPrefetchExecutor;
+
     @Inject
     public OpenSearchExportBackend(IndexLookup indexLookup,
                                    @Named("allow_leading_wildcard_searches") boolean allowLeadingWildcard,
                                    final UsedSearchFiltersToQueryStringsMapper usedSearchFiltersToQueryStringsMapper,
-                                   OfficialOpensearchClient opensearchClient) {
+                                   OfficialOpensearchClient opensearchClient,
+                                   ExportChunkPrefetchExecutor chunkPrefetchExecutor) {
         this.indexLookup = indexLookup;
         this.opensearchClient = opensearchClient;
+        this.chunkPrefetchExecutor = chunkPrefetchExecutor;
         this.allowLeadingWildcard = allowLeadingWildcard;
         this.usedSearchFiltersToQueryStringsMapper = usedSearchFiltersToQueryStringsMapper;
     }
@@ -90,32 +96,53 @@ public class OpenSearchExportBackend implements ExportBackend {
         boolean isFirstChunk = true;
         int totalCount = 0;
 
-        SearchAfterValues searchAfterValues = SearchAfterValues.empty();
+        final SearchAfterValues searchAfterValues = SearchAfterValues.empty();
 
+        List<Hit<Map>> hits = search(command, searchAfterValues);
         while (true) {
-            List<Hit<Map>> hits = search(command, searchAfterValues);
-
             if (hits.isEmpty()) {
                 publishChunk(chunkCollector, hits, command.fieldsInOrder(), command.timeZone(), SimpleMessageChunk.ChunkOrder.LAST);
                 return;
             }
 
+            totalCount += hits.size();
+            final boolean limitReached = command.limit().isPresent() && totalCount >= command.limit().getAsInt();
+
+            // The search after values of the next chunk are known by now, so fetch it while the current one is published.
+            final CompletableFuture<List<Hit<Map>>> nextHits = limitReached
+                    ? null
+                    : CompletableFuture.supplyAsync(() -> search(command, searchAfterValues), chunkPrefetchExecutor);
+
             boolean success = publishChunk(chunkCollector, hits, command.fieldsInOrder(), command.timeZone(), isFirstChunk ? SimpleMessageChunk.ChunkOrder.FIRST : SimpleMessageChunk.ChunkOrder.INTERMEDIATE);
             if (!success) {
+                if (nextHits != null) {
+                    nextHits.cancel(false);
+                }
                 return;
             }
 
-            totalCount += hits.size();
-            if (command.limit().isPresent() && totalCount >= command.limit().getAsInt()) {
+            if (limitReached) {
                 LOG.info("Limit of {} reached. Stopping message retrieval.", command.limit().getAsInt());
                 publishChunk(chunkCollector, Collections.emptyList(), command.fieldsInOrder(), command.timeZone(), SimpleMessageChunk.ChunkOrder.LAST);
                 return;
             }
 
+            hits = awaitChunk(nextHits);
             isFirstChunk = false;
         }
     }
 
+    private static <T> T awaitChunk(CompletableFuture<T> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     private List<Hit<Map>> search(ExportMessagesCommand command, SearchAfterValues searchAfterValues) {
         SearchResponse<Map> result = doSearch(createSearchRequest(command, searchAfterValues));
         searchAfterValues.update(result);
@@ -19,11 +19,15 @@ package org.graylog.storage.opensearch3.views.export;
 import org.graylog.plugins.views.search.searchfilters.db.UsedSearchFiltersToQueryStringsMapper;
 import org.graylog.storage.opensearch3.OfficialOpensearchClient;
 import org.graylog.storage.views.export.ExportBackendITHelper;
+import org.graylog2.system.shutdown.GracefulShutdownService;
+
+import static org.mockito.Mockito.mock;
 
 public class OpenSearchExportBackendITHelper extends ExportBackendITHelper {
 
     public OpenSearchExportBackendITHelper(OfficialOpensearchClient client, UsedSearchFiltersToQueryStringsMapper filters, String... indices) {
-        super(new OpenSearchExportBackend(mockIndexLookup(indices), false, filters, client));
+        super(new OpenSearchExportBackend(mockIndexLookup(indices), false, filters, client,
+                new ExportChunkPrefetchExecutor(mock(GracefulShutdownService.class))));
     }
 
 }
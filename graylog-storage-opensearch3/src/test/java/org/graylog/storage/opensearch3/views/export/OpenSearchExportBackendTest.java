@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.storage.opensearch3.views.export;
+
+import org.graylog.plugins.views.search.elasticsearch.IndexLookup;
+import org.graylog.plugins.views.search.export.ExportMessagesCommand;
+import org.graylog.plugins.views.search.export.SimpleMessageChunk;
+import org.graylog.plugins.views.search.searchfilters.db.UsedSearchFiltersToQueryStringsMapper;
+import org.graylog.storage.opensearch3.OfficialOpensearchClient;
+import org.graylog2.system.shutdown.GracefulShutdownService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch._types.ShardStatistics;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.HitsMetadata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+class OpenSearchExportBackendTest {
+    private final OfficialOpensearchClient opensearchClient = mock(OfficialOpensearchClient.class);
+    private final ExportChunkPrefetchExecutor chunkPrefetchExecutor = new ExportChunkPrefetchExecutor(mock(GracefulShutdownService.class));
+
+    private OpenSearchExportBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        final IndexLookup indexLookup = mock(IndexLookup.class);
+        when(indexLookup.indexNamesForStreamsInTimeRange(any(), any())).thenReturn(Set.of("graylog_0"));
+
+        backend = new OpenSearchExportBackend(indexLookup, false, mock(UsedSearchFiltersToQueryStringsMapper.class),
+                opensearchClient, chunkPrefetchExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        chunkPrefetchExecutor.doGracefulShutdown();
+    }
+
+    @Test
+    void publishesChunksInOrderWhileNextChunkIsPrefetched() {
+        final CountDownLatch prefetchStarted = new CountDownLatch(1);
+        final CountDownLatch firstChunkPublished = new CountDownLatch(1);
+        final SearchResponse<Map> firstResponse = response("a", "b");
+        final SearchResponse<Map> secondResponse = response("c");
+        final SearchResponse<Map> lastResponse = response();
+
+        when(opensearchClient.sync(any(), anyString()))
+                .thenReturn(firstResponse)
+                .thenAnswer(invocation -> {
+                    prefetchStarted.countDown();
+                    firstChunkPublished.await(10, SECONDS);
+                    return secondResponse;
+                })
+                .thenReturn(lastResponse);
+
+        final List<SimpleMessageChunk> chunks = new ArrayList<>();
+        backend.run(command(2), chunk -> {
+            if (chunk.isFirstChunk()) {
+                // The second chunk is requested before the first one has been published.
+                try {
+                    assertThat(prefetchStarted.await(10, SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                firstChunkPublished.countDown();
+            }
+            chunks.add(chunk);
+        });
+
+        assertThat(chunks).extracting(SimpleMessageChunk::chunkOrder).containsExactly(
+                SimpleMessageChunk.ChunkOrder.FIRST,
+                SimpleMessageChunk.ChunkOrder.INTERMEDIATE,
+                SimpleMessageChunk.ChunkOrder.LAST);
+        assertThat(chunks).extracting(this::messagesOf).containsExactly(
+                List.of("a", "b"),
+                List.of("c"),
+                List.of());
+        verify(opensearchClient, times(3)).sync(any(), anyString());
+    }
+
+    @Test
+    void doesNotPrefetchOnceLimitIsReached() {
+        final SearchResponse<Map> firstResponse = response("a", "b");
+        final SearchResponse<Map> secondResponse = response("c", "d");
+        final SearchResponse<Map> thirdResponse = response("e", "f");
+
+        when(opensearchClient.sync(any(), anyString()))
+                .thenReturn(firstResponse)
+                .thenReturn(secondResponse)
+                .thenReturn(thirdResponse);
+
+        final List<SimpleMessageChunk> chunks = new ArrayList<>();
+        backend.run(command(2, 3), chunks::add);
+
+        assertThat(chunks).extracting(SimpleMessageChunk::chunkOrder).containsExactly(
+                SimpleMessageChunk.ChunkOrder.FIRST,
+                SimpleMessageChunk.ChunkOrder.INTERMEDIATE,
+                SimpleMessageChunk.ChunkOrder.LAST);
+        assertThat(chunks).extracting(this::messagesOf).containsExactly(
+                List.of("a", "b"),
+                List.of("c", "d"),
+                List.of());
+        verify(opensearchClient, times(2)).sync(any(), anyString());
+    }
+
+    private ExportMessagesCommand command(int chunkSize) {
+        return ExportMessagesCommand.builder()
+                .chunkSize(chunkSize)
+                .build();
+    }
+
+    private ExportMessagesCommand command(int chunkSize, int limit) {
+        return ExportMessagesCommand.builder()
+                .chunkSize(chunkSize)
+                .limit(limit)
+                .build();
+    }
+
+    private List<Object> messagesOf(SimpleMessageChunk chunk) {
+        return chunk.messages().stream()
+                .map(message -> message.valueFor("message"))
+                .toList();
+    }
+
+    private SearchResponse<Map> response(String... messages) {
+        final List<Hit<Map>> hits = Arrays.stream(messages).map(this::hit).toList();
+        final HitsMetadata<Map> hitsMetadata = mock(HitsMetadata.class);
+        when(hitsMetadata.hits()).thenReturn(hits);
+
+        final SearchResponse<Map> response = mock(SearchResponse.class);
+        when(response.hits()).thenReturn(hitsMetadata);
+        when(response.shards()).thenReturn(mock(ShardStatistics.class));
+        return response;
+    }
+
+    private Hit<Map> hit(String message) {
+        final Hit<Map> hit = mock(Hit.class);
+        when(hit.source()).thenReturn(Map.of("message", message));
+        when(hit.index()).thenReturn("graylog_0");
+        return hit;
+    }
+}
@@ -18,11 +18,15 @@ package org.graylog.failure;
 
 import com.google.common.collect.ImmutableMap;
 import jakarta.inject.Inject;
+import org.graylog2.indexer.IndexFailure;
 import org.graylog2.indexer.IndexFailureImpl;
 import org.graylog2.indexer.IndexFailureService;
 
+import java.util.List;
+
 /**
- * A fallback failure handler, which persists submitted failures in Mongo via {@link IndexFailureService}.
+ * A fallback failure handler, which persists submitted failures in Mongo via {@link IndexFailureService}, using
+ * one bulk write per failure batch.
  * Only indexing failures supported.
  */
 public class DefaultFailureHandler implements FailureHandler {
@@ -36,14 +40,16 @@ public class DefaultFailureHandler implements FailureHandler {
 
     @Override
     public void handle(FailureBatch failureBatch) {
-        failureBatch.getFailures().forEach(failure ->
-                indexFailureService.saveWithoutValidation(new IndexFailureImpl(ImmutableMap.<String, Object>builder()
+        final List<IndexFailure> indexFailures = failureBatch.getFailures().stream()
+                .<IndexFailure>map(failure -> new IndexFailureImpl(ImmutableMap.<String, Object>builder()
                         .put("letter_id", failure.messageId())
                         .put("index", failure.targetIndex())
                         .put("type", failure.failureType().toString())
                         .put("message", failure.failureDetails())
                         .put("timestamp", failure.messageTimestamp())
-                        .build())));
+                        .build()))
+                .toList();
+        indexFailureService.saveAll(indexFailures);
     }
 
     @Override
@@ -29,6 +29,7 @@ import javax.annotation.Nullable;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -45,6 +46,8 @@ import static com.codahale.metrics.MetricRegistry.name;
 @Singleton
 class FailureSubmissionQueue {
 
+    private static final long QUEUE_FULL_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final BlockingQueue<FailureBatch> queue;
@@ -53,6 +56,8 @@ class FailureSubmissionQueue {
     private final Meter submittedFailures;
     private final Meter consumedFailureBatches;
     private final Meter consumedFailures;
+    private final Meter blockedSubmissions;
+    private final AtomicLong lastQueueFullWarning = new AtomicLong(System.nanoTime() - QUEUE_FULL_WARNING_INTERVAL_NANOS);
 
     @Inject
     FailureSubmissionQueue(Configuration configuration,
@@ -64,6 +69,7 @@ class FailureSubmissionQueue {
         this.submittedFailures = metricRegistry.meter(name(FailureSubmissionQueue.class, "submittedFailures"));
         this.consumedFailureBatches = metricRegistry.meter(name(FailureSubmissionQueue.class, "consumedFailureBatches"));
         this.consumedFailures = metricRegistry.meter(name(FailureSubmissionQueue.class, "consumedFailures"));
+        this.blockedSubmissions = metricRegistry.meter(name(FailureSubmissionQueue.class, "blockedSubmissions"));
 
         metricRegistry.register(MetricRegistry.name(FailureSubmissionQueue.class, "queueSize"),
                 (Gauge<Integer>) queue::size);
@@ -74,10 +80,16 @@ class FailureSubmissionQueue {
      * the call will block until the queue is ready to accept new batches.
      */
     void submitBlocking(FailureBatch batch) throws InterruptedException {
-        queue.put(batch);
-
-        if (queueSize() == configuration.getFailureHandlingQueueCapacity()) {
-            logger.warn("The queue is full! Current capacity: {}", configuration.getFailureHandlingQueueCapacity());
+        if (!queue.offer(batch)) {
+            blockedSubmissions.mark();
+            final long now = System.nanoTime();
+            final long lastWarning = lastQueueFullWarning.get();
+            // During a failure storm every submission runs into the full queue, so don't warn for each of them
+            if (now - lastWarning >= QUEUE_FULL_WARNING_INTERVAL_NANOS && lastQueueFullWarning.compareAndSet(lastWarning, now)) {
+                logger.warn("The queue is full! Current capacity: {}. Blocked {} submissions so far.",
+                        configuration.getFailureHandlingQueueCapacity(), blockedSubmissions.getCount());
+            }
+            queue.put(batch);
         }
 
         submittedFailureBatches.mark();
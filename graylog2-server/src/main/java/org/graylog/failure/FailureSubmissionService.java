@@ -124,34 +124,36 @@ public class FailureSubmissionService {
             message.setFilterOut(true);
         }
 
-        processingErrors.forEach(pe -> submitProcessingFailure(message, pe));
+        submitProcessingFailures(message, processingErrors);
 
         return failureHandlingConfiguration.keepFailedMessageDuplicate();
     }
 
-    private void submitProcessingFailure(Message failedMessage, Message.ProcessingError processingError) {
+    private void submitProcessingFailures(Message failedMessage, List<Message.ProcessingError> processingErrors) {
         try {
             // If we store the regular message, the acknowledgement happens in the output path
             final boolean needsAcknowledgement = !failureHandlingConfiguration.keepFailedMessageDuplicate();
 
             final String messageId = StringUtils.isBlank(failedMessage.getMessageId()) ? failedMessage.getId() : failedMessage.getMessageId();
 
-            final String message = String.format(Locale.ENGLISH,
-                    "Failed to process message with id '%s': %s",
-                    StringUtils.isBlank(messageId) ? "UNKNOWN" : messageId,
-                    processingError.getMessage());
-
-            final ProcessingFailure processingFailure = new ProcessingFailure(
-                    processingError.getCause(),
-                    message,
-                    processingError.getDetails(),
-                    Tools.nowUTC(),
-                    failedMessage,
-                    needsAcknowledgement);
-
-            failureSubmissionQueue.submitBlocking(FailureBatch.processingFailureBatch(processingFailure));
+            // All errors of a message are submitted as one batch, to keep the number of queued batches low
+            final List<ProcessingFailure> processingFailures = processingErrors.stream()
+                    .map(processingError -> new ProcessingFailure(
+                            processingError.getCause(),
+                            String.format(Locale.ENGLISH,
+                                    "Failed to process message with id '%s': %s",
+                                    StringUtils.isBlank(messageId) ? "UNKNOWN" : messageId,
+                                    processingError.getMessage()),
+                            processingError.getDetails(),
+                            Tools.nowUTC(),
+                            failedMessage,
+                            needsAcknowledgement))
+                    .toList();
+
+            failureSubmissionQueue.submitBlocking(FailureBatch.processingFailureBatch(processingFailures));
         } catch (InterruptedException ignored) {
-            logger.warn("Failed to submit a processing failure for failure handling. The thread has been interrupted!");
+            logger.warn("Failed to submit {} processing failures for failure handling. The thread has been interrupted!",
+                    processingErrors.size());
             Thread.currentThread().interrupt();
         }
     }
@@ -59,15 +59,10 @@ import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Paths;
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -169,9 +164,8 @@ public class IpfixCodec extends AbstractCodec implements MultiMessageCodec {
 
     private static String createMessageString(long packetCount, long octetCount, String srcAddr, String dstAddr,
                                               Number srcPort, Number dstPort, long protocol) {
-        String message = String.format(Locale.ROOT, "Ipfix [" + srcAddr + "]:" + srcPort + " <> [" + dstAddr + "]:" + dstPort + " " +
-                "proto:" + protocol + " pkts:" + packetCount + " bytes:" + octetCount);
-        return message;
+        return "Ipfix [" + srcAddr + "]:" + srcPort + " <> [" + dstAddr + "]:" + dstPort + " " +
+                "proto:" + protocol + " pkts:" + packetCount + " bytes:" + octetCount;
     }
 
     @Nullable
@@ -190,6 +184,8 @@ public class IpfixCodec extends AbstractCodec implements MultiMessageCodec {
         LOG.debug("Attempting to decode raw messages now.");
         final ResolvableInetSocketAddress remoteAddress = rawMessage.getRemoteAddress();
         final InetSocketAddress sender = remoteAddress != null ? remoteAddress.getInetSocketAddress() : null;
+        // resolved once per journal entry instead of once per flow record
+        final String source = sender == null ? null : sender.getAddress().getHostAddress();
         try {
             final IpfixJournal.RawIpfix rawIpfix = IpfixJournal.RawIpfix.parseFrom(rawMessage.getPayload());
             final Map<Integer, ByteString> templatesMap = rawIpfix.getTemplatesMap();
@@ -201,7 +197,7 @@ public class IpfixCodec extends AbstractCodec implements MultiMessageCodec {
             return rawIpfix.getDataSetsList().stream()
                     .flatMap(dataSet -> {
                         final int templateId = dataSet.getTemplateId();
-                        final ZonedDateTime flowExportTimestamp = ZonedDateTime.ofInstant(Instant.ofEpochSecond(dataSet.getTimestampEpochSeconds()), ZoneOffset.UTC);
+                        final DateTime flowExportTimestamp = new DateTime(dataSet.getTimestampEpochSeconds() * 1000L);
                         final TemplateRecord templateRecord = templateRecordMap.get(templateId);
                         if (templateRecord == null) {
                             throw new IpfixException("Missing required template in journal entry for data records: template id " + templateId);
@@ -209,7 +205,7 @@ public class IpfixCodec extends AbstractCodec implements MultiMessageCodec {
                         final Set<Flow> flows = parser.parseDataSet(templateRecord.informationElements(), templateRecordMap,
                                 Unpooled.wrappedBuffer(dataSet.getDataRecords().toByteArray()));
                         return flows.stream()
-                                .map(flow -> formatFlow(flowExportTimestamp, sender, flow));
+                                .map(flow -> formatFlow(flowExportTimestamp, source, flow));
                     })
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -217,11 +213,9 @@ public class IpfixCodec extends AbstractCodec implements MultiMessageCodec {
         }
     }
 
-    private Message formatFlow(ZonedDateTime flowExportTimestamp, InetSocketAddress sender, Flow flow) {
+    private Message formatFlow(DateTime flowExportTimestamp, @Nullable String source, Flow flow) {
         final ImmutableMap<String, Object> fields = flow.fields();
-        final DateTime timestamp = new DateTime(Date.from(flowExportTimestamp.toInstant()));
-        final String source = sender == null ? null : sender.getAddress().getHostAddress();
-        final Message message = messageFactory.createMessage(toMessageString(flow), source, timestamp);
+        final Message message = messageFactory.createMessage(toMessageString(flow), source, flowExportTimestamp);
         message.addFields(fields);
         return message;
     }
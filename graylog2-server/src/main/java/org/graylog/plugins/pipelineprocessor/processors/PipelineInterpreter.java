@@ -270,6 +270,7 @@ public class PipelineInterpreter implements MessageProcessor {
 
         final StageIterator stages = state.getStageIterator(pipelines);
         final Set<Pipeline> pipelinesToSkip = Sets.newHashSet();
+        final RuleConditionCache conditionCache = state.newRuleConditionCache();
 
         // iterate through all stages for all matching pipelines, per "stage slice" instead of per pipeline.
         // pipeline execution ordering is not guaranteed
@@ -282,7 +283,7 @@ public class PipelineInterpreter implements MessageProcessor {
 
             final List<Stage> stageSet = stages.next();
             for (final Stage stage : stageSet) {
-                evaluateStage(stage, message, msgId, result, pipelinesToSkip, interpreterListener);
+                evaluateStage(stage, message, msgId, result, pipelinesToSkip, interpreterListener, conditionCache);
             }
         }
 
@@ -296,6 +297,16 @@ public class PipelineInterpreter implements MessageProcessor {
                               List<Message> result,
                               Set<Pipeline> pipelinesToSkip,
                               InterpreterListener interpreterListener) {
+        evaluateStage(stage, message, msgId, result, pipelinesToSkip, interpreterListener, RuleConditionCache.disabled());
+    }
+
+    private void evaluateStage(Stage stage,
+                               Message message,
+                               String msgId,
+                               List<Message> result,
+                               Set<Pipeline> pipelinesToSkip,
+                               InterpreterListener interpreterListener,
+                               RuleConditionCache conditionCache) {
         final Pipeline pipeline = stage.getPipeline();
         if (pipelinesToSkip.contains(pipeline)) {
             log.debug("[{}] previous stage result prevents further processing of pipeline `{}`",
@@ -320,7 +331,7 @@ public class PipelineInterpreter implements MessageProcessor {
         boolean allRulesMatched = true;
         for (Rule rule : stageRules) {
             try {
-                final boolean ruleCondition = evaluateRuleCondition(rule, message, msgId, pipeline, context, rulesToRun, interpreterListener);
+                final boolean ruleCondition = evaluateRuleCondition(rule, message, msgId, pipeline, context, rulesToRun, interpreterListener, conditionCache);
                 anyRulesMatched |= ruleCondition;
                 allRulesMatched &= ruleCondition;
 
@@ -337,6 +348,10 @@ public class PipelineInterpreter implements MessageProcessor {
             }
         }
 
+        if (rulesToRun.stream().anyMatch(rule -> !rule.then().isEmpty())) {
+            // the actions might change the message, which makes the remembered condition results stale
+            conditionCache.invalidate();
+        }
         for (Rule rule : rulesToRun) {
             if (!executeRuleActions(rule, message, msgId, pipeline, context, interpreterListener)) {
                 log.warn("Error evaluating action for rule <{}/{}> in pipeline <{}/stage {}> with message: {} (Error: {})",
@@ -427,12 +442,21 @@ public class PipelineInterpreter implements MessageProcessor {
                                           String msgId,
                                           Pipeline pipeline,
                                           EvaluationContext context,
-                                          List<Rule> rulesToRun, InterpreterListener interpreterListener) {
+                                          List<Rule> rulesToRun, InterpreterListener interpreterListener,
+                                          RuleConditionCache conditionCache) {
         interpreterListener.evaluateRule(rule, pipeline);
         final boolean matched;
         final LogicalExpression logicalExpression = rule.when();
         try {
-            matched = logicalExpression.evaluateBool(context);
+            final Boolean cachedResult = conditionCache.get(logicalExpression);
+            if (cachedResult != null) {
+                matched = cachedResult;
+            } else {
+                matched = logicalExpression.evaluateBool(context);
+                if (!context.hasEvaluationErrors()) {
+                    conditionCache.put(logicalExpression, matched);
+                }
+            }
         } catch (Exception e) {
 
             context.onEvaluationException(e, logicalExpression);
@@ -486,6 +510,7 @@ public class PipelineInterpreter implements MessageProcessor {
         private final LoadingCache<Set<Pipeline>, StageIterator.Configuration> cache;
         private final boolean cachedIterators;
         private final RuleMetricsConfigDto ruleMetricsConfig;
+        private final Set<LogicalExpression> sharedRuleConditions;
 
         @AssistedInject
         public State(@Assisted ImmutableMap<String, Pipeline> currentPipelines,
@@ -498,6 +523,7 @@ public class PipelineInterpreter implements MessageProcessor {
             this.streamPipelineConnections = streamPipelineConnections;
             this.cachedIterators = cachedIterators;
             this.ruleMetricsConfig = ruleMetricsConfig;
+            this.sharedRuleConditions = findSharedRuleConditions(currentPipelines);
 
             cache = CacheBuilder.newBuilder()
                     .concurrencyLevel(processorCount)
@@ -518,6 +544,26 @@ public class PipelineInterpreter implements MessageProcessor {
             }
         }
 
+        /**
+         * The resolved copies of a rule share the parsed condition, so conditions which are referenced more than once
+         * belong to rules that are used in several stages or pipelines.
+         */
+        private static Set<LogicalExpression> findSharedRuleConditions(ImmutableMap<String, Pipeline> pipelines) {
+            final Set<LogicalExpression> seenConditions = Sets.newIdentityHashSet();
+            final Set<LogicalExpression> sharedConditions = Sets.newIdentityHashSet();
+            pipelines.values().stream()
+                    .map(Pipeline::stages)
+                    .filter(Objects::nonNull)
+                    .flatMap(Set::stream)
+                    .map(Stage::getRules)
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .map(Rule::when)
+                    .filter(condition -> !seenConditions.add(condition))
+                    .forEach(sharedConditions::add);
+            return sharedConditions;
+        }
+
         protected String getStageCacheMetricName() {
             return name(PipelineInterpreter.class, STAGE_CACHE_METRIC_SUFFIX);
         }
@@ -534,6 +580,10 @@ public class PipelineInterpreter implements MessageProcessor {
             return ruleMetricsConfig.metricsEnabled();
         }
 
+        RuleConditionCache newRuleConditionCache() {
+            return sharedRuleConditions.isEmpty() ? RuleConditionCache.disabled() : new RuleConditionCache(sharedRuleConditions);
+        }
+
         public StageIterator getStageIterator(Set<Pipeline> pipelines) {
             try {
                 if (cachedIterators) {
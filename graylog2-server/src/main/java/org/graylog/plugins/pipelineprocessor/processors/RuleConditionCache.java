@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.pipelineprocessor.processors;
+
+import org.graylog.plugins.pipelineprocessor.ast.expressions.LogicalExpression;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers the condition results of rules which are used in more than one stage while a single message is being
+ * processed, so that each of those conditions only needs to be evaluated once.
+ * <p>
+ * Rule actions can change the message, so all results are discarded as soon as any rule actions have been executed.
+ * Instances are not thread-safe and must not be shared between messages.
+ */
+class RuleConditionCache {
+    // never stores any results, so it is safe to share
+    private static final RuleConditionCache DISABLED = new RuleConditionCache(Set.of());
+
+    private final Set<LogicalExpression> sharedConditions;
+    private final Map<LogicalExpression, Boolean> results = new IdentityHashMap<>();
+
+    RuleConditionCache(Set<LogicalExpression> sharedConditions) {
+        this.sharedConditions = sharedConditions;
+    }
+
+    static RuleConditionCache disabled() {
+        return DISABLED;
+    }
+
+    Boolean get(LogicalExpression condition) {
+        return results.get(condition);
+    }
+
+    void put(LogicalExpression condition, boolean matched) {
+        if (sharedConditions.contains(condition)) {
+            results.put(condition, matched);
+        }
+    }
+
+    void invalidate() {
+        if (!results.isEmpty()) {
+            results.clear();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search;
+
+import org.graylog2.indexer.ranges.IndexRange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class IndexRangeMayContainFieldValues {
+
+    /**
+     * @param requiredFieldValues fields mapped to the values of which at least one has to be present
+     * @return {@code false} only if the recorded field values of the index range prove that a required value is missing
+     */
+    public boolean test(final IndexRange indexRange,
+                        final Map<String, Set<String>> requiredFieldValues) {
+        final Map<String, List<String>> fieldValues = indexRange.fieldValues();
+        // Ranges without recorded values (e.g. the current write index) might contain anything.
+        if (fieldValues == null) {
+            return true;
+        }
+
+        return requiredFieldValues.entrySet().stream().allMatch(required -> {
+            final List<String> values = fieldValues.get(required.getKey());
+            if (values == null) {
+                return true;
+            }
+            // Depending on the field's analyzer, the index might only know the lowercased value.
+            return required.getValue().stream().anyMatch(value -> values.stream().anyMatch(value::equalsIgnoreCase));
+        });
+    }
+}
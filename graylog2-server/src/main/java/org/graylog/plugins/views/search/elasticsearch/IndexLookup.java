@@ -16,16 +16,37 @@
  */
 package org.graylog.plugins.views.search.elasticsearch;
 
+import org.graylog.plugins.views.search.engine.BackendQuery;
 import org.graylog2.indexer.ranges.IndexRange;
 import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 public interface IndexLookup {
     Set<String> indexNamesForStreamsInTimeRange(Collection<String> streamIds,
                                                 TimeRange timeRange);
 
+    /**
+     * Like {@link #indexNamesForStreamsInTimeRange(Collection, TimeRange)}, but also skips indices whose recorded
+     * field values (see {@link IndexRange#fieldValues()}) prove that they can't match the required field values.
+     *
+     * @param requiredFieldValues as returned by {@link #requiredFieldValues(BackendQuery)}
+     */
+    default Set<String> indexNamesForStreamsInTimeRange(Collection<String> streamIds,
+                                                        TimeRange timeRange,
+                                                        Map<String, Set<String>> requiredFieldValues) {
+        return indexNamesForStreamsInTimeRange(streamIds, timeRange);
+    }
+
+    /**
+     * Returns the fields the given query requires to have one of the mapped values.
+     */
+    default Map<String, Set<String>> requiredFieldValues(BackendQuery query) {
+        return Map.of();
+    }
+
     Set<IndexRange> indexRangesForStreamsInTimeRange(Collection<String> streamIds,
                                                      TimeRange timeRange);
 }
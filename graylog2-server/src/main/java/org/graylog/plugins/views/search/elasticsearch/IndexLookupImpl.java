@@ -19,6 +19,8 @@ package org.graylog.plugins.views.search.elasticsearch;
 import com.google.common.collect.Sets;
 import jakarta.inject.Inject;
 import org.graylog.plugins.views.search.IndexRangeContainsOneOfStreams;
+import org.graylog.plugins.views.search.IndexRangeMayContainFieldValues;
+import org.graylog.plugins.views.search.engine.BackendQuery;
 import org.graylog2.indexer.ranges.IndexRange;
 import org.graylog2.indexer.ranges.IndexRangeService;
 import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
@@ -26,6 +28,7 @@ import org.graylog2.plugin.streams.Stream;
 import org.graylog2.streams.StreamService;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.stream.Collectors;
@@ -35,6 +38,7 @@ public class IndexLookupImpl implements IndexLookup {
     private final IndexRangeService indexRangeService;
     private final StreamService streamService;
     private final IndexRangeContainsOneOfStreams indexRangeContainsOneOfStreams;
+    private final IndexRangeMayContainFieldValues indexRangeMayContainFieldValues = new IndexRangeMayContainFieldValues();
 
     @Inject
     public IndexLookupImpl(final IndexRangeService indexRangeService,
@@ -55,13 +59,23 @@ public class IndexLookupImpl implements IndexLookup {
     @Override
     public Set<String> indexNamesForStreamsInTimeRange(final Collection<String> streamIds,
                                                        final TimeRange timeRange) {
+        return indexNamesForStreamsInTimeRange(streamIds, timeRange, Map.of());
+    }
+
+    @Override
+    public Set<String> indexNamesForStreamsInTimeRange(final Collection<String> streamIds,
+                                                       final TimeRange timeRange,
+                                                       final Map<String, Set<String>> requiredFieldValues) {
 
         Set<String> dataStreamIndices = streamIds.stream()
                 .filter(s -> s.startsWith(Stream.DATASTREAM_PREFIX))
                 .map(s -> s.substring(Stream.DATASTREAM_PREFIX.length()))
                 .collect(Collectors.toSet());
 
-        final Set<String> candidateIndices = indexRangesForStreamsInTimeRange(streamIds, timeRange).stream().map(IndexRange::indexName).collect(Collectors.toSet());
+        final Set<String> candidateIndices = indexRangesForStreamsInTimeRange(streamIds, timeRange).stream()
+                .filter(i -> requiredFieldValues.isEmpty() || indexRangeMayContainFieldValues.test(i, requiredFieldValues))
+                .map(IndexRange::indexName)
+                .collect(Collectors.toSet());
 
         return Sets.union(dataStreamIndices, candidateIndices);
     }
@@ -82,4 +96,9 @@ public class IndexLookupImpl implements IndexLookup {
                 .filter(i -> indexRangeContainsOneOfStreams.test(i, usedStreams))
                 .collect(Collectors.toSet());
     }
+
+    @Override
+    public Map<String, Set<String>> requiredFieldValues(final BackendQuery query) {
+        return RequiredFieldValues.of(query.queryString());
+    }
 }
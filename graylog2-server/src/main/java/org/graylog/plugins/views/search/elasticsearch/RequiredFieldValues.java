@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.elasticsearch;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.graylog.plugins.views.search.validation.LuceneQueryParser;
+import org.graylog.plugins.views.search.validation.ParsedTerm;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Extracts the field values a query string requires, i.e. values without which no document can match.
+ * <p>
+ * Only plain {@code field:value} terms which are mandatory for the whole query are considered. A group of
+ * alternatives like {@code source:a OR source:b} requires one of its values. Everything else (wildcards, ranges,
+ * phrases, negations, parameters) is ignored, so the result is always a necessary but not a sufficient condition.
+ */
+final class RequiredFieldValues {
+    private RequiredFieldValues() {
+    }
+
+    static Map<String, Set<String>> of(String queryString) {
+        final QueryParser parser = new QueryParser(ParsedTerm.DEFAULT_FIELD, LuceneQueryParser.ANALYZER);
+        parser.setSplitOnWhitespace(true);
+        parser.setAllowLeadingWildcard(true);
+
+        final Query query;
+        try {
+            query = parser.parse(queryString);
+        } catch (ParseException | RuntimeException e) {
+            return Map.of();
+        }
+
+        final Map<String, Set<String>> requiredValues = new HashMap<>();
+        collect(query, requiredValues);
+        return requiredValues;
+    }
+
+    private static void collect(Query query, Map<String, Set<String>> requiredValues) {
+        alternatives(query).ifPresent(alternatives -> {
+            // a second requirement for the same field can't be merged, because the field might have multiple values
+            requiredValues.putIfAbsent(alternatives.field, alternatives.values);
+        });
+
+        if (query instanceof BooleanQuery booleanQuery) {
+            for (BooleanClause clause : booleanQuery.clauses()) {
+                if (clause.isRequired() && !clause.isProhibited()) {
+                    collect(clause.query(), requiredValues);
+                }
+            }
+        }
+    }
+
+    private static Optional<Alternatives> alternatives(Query query) {
+        if (query instanceof TermQuery termQuery) {
+            return alternatives(List.of(termQuery.getTerm()));
+        }
+        if (query instanceof BooleanQuery booleanQuery
+                && booleanQuery.getMinimumNumberShouldMatch() <= 1
+                && !booleanQuery.clauses().isEmpty()
+                && booleanQuery.clauses().stream().allMatch(c -> c.occur() == BooleanClause.Occur.SHOULD && c.query() instanceof TermQuery)) {
+            return alternatives(booleanQuery.clauses().stream()
+                    .map(c -> ((TermQuery) c.query()).getTerm())
+                    .toList());
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Alternatives> alternatives(List<Term> terms) {
+        final String field = terms.get(0).field();
+        final Set<String> values = new HashSet<>();
+        for (Term term : terms) {
+            final String value = term.text();
+            // skip the default field, other fields and unresolved query parameters
+            if (!term.field().equals(field) || field.equals(ParsedTerm.DEFAULT_FIELD) || value.contains("$")) {
+                return Optional.empty();
+            }
+            values.add(value);
+        }
+        return Optional.of(new Alternatives(field, values));
+    }
+
+    private record Alternatives(String field, Set<String> values) {}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.graylog.plugins.views.search.Query;
+import org.graylog.plugins.views.search.SearchType;
+import org.graylog2.indexer.ranges.IndexRange;
+import org.graylog2.indexer.ranges.IndexRangeService;
+import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
+import org.joda.time.DateTime;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Estimates how many documents a query has to look at, based on the document counts recorded with the index ranges.
+ * <p>
+ * Documents are assumed to be evenly distributed over the time range of an index, so an index which only partially
+ * overlaps the time range of the query contributes the matching share of its documents. Indices without a recorded
+ * document count (e.g. the current write index) are not taken into account.
+ */
+@Singleton
+public class QueryCostEstimator {
+    private final IndexRangeService indexRangeService;
+
+    @Inject
+    public QueryCostEstimator(IndexRangeService indexRangeService) {
+        this.indexRangeService = indexRangeService;
+    }
+
+    public long estimatedDocuments(Query query) {
+        final List<TimeRange> timeRanges = query.searchTypes().isEmpty()
+                ? List.of(query.timerange())
+                : query.searchTypes().stream().map(query::effectiveTimeRange).toList();
+        final DateTime from = timeRanges.stream().map(TimeRange::getFrom).min(DateTime::compareTo).orElseThrow();
+        final DateTime to = timeRanges.stream().map(TimeRange::getTo).max(DateTime::compareTo).orElseThrow();
+        final Set<String> streamIds = Stream.concat(query.usedStreamIds().stream(),
+                        query.searchTypes().stream().map(SearchType::streams).flatMap(Set::stream))
+                .collect(Collectors.toSet());
+
+        long estimatedDocuments = 0L;
+        for (IndexRange indexRange : indexRangeService.find(from, to)) {
+            if (indexRange.documentCount() == null || !mayContainStreams(indexRange, streamIds)) {
+                continue;
+            }
+            estimatedDocuments += overlappingDocuments(indexRange, from, to);
+        }
+        return estimatedDocuments;
+    }
+
+    private static boolean mayContainStreams(IndexRange indexRange, Set<String> streamIds) {
+        final List<String> indexStreamIds = indexRange.streamIds();
+        return streamIds.isEmpty() || indexStreamIds == null || !Collections.disjoint(indexStreamIds, streamIds);
+    }
+
+    private static long overlappingDocuments(IndexRange indexRange, DateTime from, DateTime to) {
+        final long documentCount = indexRange.documentCount();
+        final long begin = indexRange.begin().getMillis();
+        final long end = indexRange.end().getMillis();
+        if (end <= begin) {
+            return documentCount;
+        }
+        final long overlap = Math.min(end, to.getMillis()) - Math.max(begin, from.getMillis());
+        if (overlap <= 0) {
+            return 0L;
+        }
+        return (long) (documentCount * Math.min(1.0d, (double) overlap / (end - begin)));
+    }
+}
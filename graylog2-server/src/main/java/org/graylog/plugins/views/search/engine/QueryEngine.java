@@ -16,6 +16,10 @@
  */
 package org.graylog.plugins.views.search.engine;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.inject.Inject;
@@ -35,6 +39,7 @@ import org.graylog.plugins.views.search.errors.QueryError;
 import org.graylog.plugins.views.search.errors.SearchError;
 import org.graylog.plugins.views.search.errors.SearchException;
 import org.graylog2.Configuration;
+import org.graylog2.shared.metrics.MetricUtils;
 import org.graylog2.storage.providers.ElasticsearchBackendProvider;
 import org.joda.time.DateTimeZone;
 import org.slf4j.Logger;
@@ -47,12 +52,14 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.graylog.plugins.views.search.engine.validation.DataLakeSearchValidator.containsDataLakeSearchElements;
 
 @Singleton
@@ -67,6 +74,11 @@ public class QueryEngine {
     private final ElasticsearchBackendProvider elasticsearchBackendProvider;
     private final Map<String, QueryBackend<? extends GeneratedQueryContext>> unversionedBackends;
     private final EffectiveQueryComposer effectiveQueryComposer;
+    private final QueryResultCache resultCache;
+    private final SearchAdmissionController indexerJobsAdmissionController;
+    private final QueryCostEstimator queryCostEstimator;
+    private final long maxEstimatedMessages;
+    private final Meter rejectedQueries;
 
     @Inject
     public QueryEngine(Configuration configuration,
@@ -74,12 +86,16 @@ public class QueryEngine {
                        Map<String, QueryBackend<? extends GeneratedQueryContext>> unversionedBackends,
                        Set<QueryMetadataDecorator> queryMetadataDecorators,
                        QueryParser queryParser,
-                       EffectiveQueryComposer effectiveQueryComposer) {
+                       EffectiveQueryComposer effectiveQueryComposer,
+                       QueryCostEstimator queryCostEstimator,
+                       MetricRegistry metricRegistry) {
         this.elasticsearchBackendProvider = elasticsearchBackendProvider;
         this.unversionedBackends = unversionedBackends;
         this.queryMetadataDecorators = queryMetadataDecorators;
         this.queryParser = queryParser;
         this.effectiveQueryComposer = effectiveQueryComposer;
+        this.queryCostEstimator = queryCostEstimator;
+        this.maxEstimatedMessages = configuration.searchQueryEngineMaxEstimatedMessages();
 
         this.indexerJobsQueryPool = createThreadPool(
                 configuration.searchQueryEngineIndexerJobsPoolSize(),
@@ -89,6 +105,25 @@ public class QueryEngine {
                 configuration.searchQueryEngineDataLakeJobsPoolSize(),
                 configuration.searchQueryEngineDataLakeJobsQueueSize(),
                 "query-engine-data-lake-jobs-%d");
+
+        // Only as many indexer jobs as there are threads are handed over to the pool, the others wait in the
+        // admission controller, which starts them fairly across users. The configured queue size limits the
+        // number of waiting jobs there.
+        this.indexerJobsAdmissionController = new SearchAdmissionController(
+                configuration.searchQueryEngineIndexerJobsPoolSize(),
+                configuration.searchQueryEngineIndexerJobsPerUserLimit(),
+                configuration.searchQueryEngineIndexerJobsQueueSize(),
+                metricRegistry.timer(name(QueryEngine.class, "indexer-jobs", "queue-wait-time")));
+        MetricUtils.safelyRegister(metricRegistry, name(QueryEngine.class, "indexer-jobs", "queued"),
+                (Gauge<Integer>) indexerJobsAdmissionController::pendingQueryCount);
+        MetricUtils.safelyRegister(metricRegistry, name(QueryEngine.class, "indexer-jobs", "running"),
+                (Gauge<Integer>) indexerJobsAdmissionController::runningQueryCount);
+        this.rejectedQueries = metricRegistry.meter(name(QueryEngine.class, "indexer-jobs", "rejected"));
+
+        final int resultCacheSize = configuration.searchQueryEngineResultCacheSize();
+        this.resultCache = resultCacheSize > 0 ? new QueryResultCache(resultCacheSize,
+                java.time.Duration.ofMillis(configuration.searchQueryEngineResultCacheExpireAfter().toMilliseconds()),
+                Ticker.systemTicker()) : null;
     }
 
     private Executor createThreadPool(final int poolSize,
@@ -154,8 +189,7 @@ public class QueryEngine {
         validQueries.forEach(query -> searchJob.addQueryResultFuture(query.id(),
                 // generate and run each query, making sure we never let an exception escape
                 // if need be we default to an empty result with a failed state and the wrapped exception
-                CompletableFuture.supplyAsync(() -> prepareAndRun(searchJob, query, validationErrors, timezone),
-                                containsDataLakeSearchElements(query) ? dataLakeJobsQueryPool : indexerJobsQueryPool)
+                submit(searchJob, query, validationErrors, timezone)
                         .handle((queryResult, throwable) -> {
                             if (throwable != null) {
                                 final Throwable cause = throwable.getCause();
@@ -177,7 +211,40 @@ public class QueryEngine {
         return searchJob.seal();
     }
 
+    private CompletableFuture<QueryResult> submit(SearchJob searchJob, Query query, Set<SearchError> validationErrors, DateTimeZone timezone) {
+        if (containsDataLakeSearchElements(query)) {
+            return CompletableFuture.supplyAsync(() -> prepareAndRunCached(searchJob, query, validationErrors, timezone), dataLakeJobsQueryPool);
+        }
+        if (maxEstimatedMessages > 0) {
+            final long estimatedMessages = queryCostEstimator.estimatedDocuments(query);
+            if (estimatedMessages > maxEstimatedMessages) {
+                LOG.debug("[{}] Rejecting query estimated to look at {} messages", query.id(), estimatedMessages);
+                rejectedQueries.mark();
+                final QueryError error = new QueryError(query, "Query is estimated to look at " + estimatedMessages
+                        + " messages, which exceeds the limit of " + maxEstimatedMessages
+                        + " messages. Please narrow down the time range or the selected streams.", true);
+                return CompletableFuture.failedFuture(new CompletionException(new SearchException(error)));
+            }
+        }
+        return indexerJobsAdmissionController.submit(searchJob.getOwner(),
+                () -> prepareAndRunCached(searchJob, query, validationErrors, timezone), indexerJobsQueryPool);
+    }
+
+    private QueryResult prepareAndRunCached(SearchJob searchJob, Query query, Set<SearchError> validationErrors, DateTimeZone timezone) {
+        if (resultCache == null) {
+            return prepareAndRun(searchJob, query, validationErrors, timezone);
+        }
+        return resultCache.getOrRun(searchJob, query, validationErrors, timezone,
+                () -> generateAndRun(searchJob, query, validationErrors, timezone));
+    }
+
     private QueryResult prepareAndRun(SearchJob searchJob, Query query, Set<SearchError> validationErrors, DateTimeZone timezone) {
+        final QueryResultCache.ExecutedQuery executed = generateAndRun(searchJob, query, validationErrors, timezone);
+        executed.errors().forEach(searchJob::addError);
+        return executed.result();
+    }
+
+    private QueryResultCache.ExecutedQuery generateAndRun(SearchJob searchJob, Query query, Set<SearchError> validationErrors, DateTimeZone timezone) {
         final var backend = getBackendForQuery(query);
         LOG.debug("[{}] Using {} to generate query", query.id(), backend);
         // with all the results done, we can execute the current query and eventually complete our own result
@@ -187,10 +254,7 @@ public class QueryEngine {
         LOG.trace("[{}] Generated query {}, running it on backend {}", query.id(), generatedQueryContext, backend);
         final QueryResult result = backend.run(searchJob, query, generatedQueryContext);
         LOG.debug("[{}] Query returned {}", query.id(), result);
-        if (!generatedQueryContext.errors().isEmpty()) {
-            generatedQueryContext.errors().forEach(searchJob::addError);
-        }
-        return result;
+        return new QueryResultCache.ExecutedQuery(result, List.copyOf(generatedQueryContext.errors()));
     }
 
     private boolean isQueryWithError(Collection<SearchError> validationErrors, Query query) {
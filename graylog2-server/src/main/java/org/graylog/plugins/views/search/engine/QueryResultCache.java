@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.collect.ImmutableSet;
+import org.graylog.plugins.views.search.GlobalOverride;
+import org.graylog.plugins.views.search.Parameter;
+import org.graylog.plugins.views.search.Query;
+import org.graylog.plugins.views.search.QueryResult;
+import org.graylog.plugins.views.search.SearchJob;
+import org.graylog.plugins.views.search.errors.SearchError;
+import org.graylog2.plugin.Tools;
+import org.graylog2.plugin.indexer.searches.timeranges.AbsoluteRange;
+import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the results of queries whose time ranges are absolute and lie completely in the past. Such results don't
+ * change anymore, so they are reused for the same query, parameters and time zone until they expire.
+ * <p>
+ * Relative time ranges are never cached: their end moves with every execution, so a cached result would be missing
+ * the latest messages.
+ * <p>
+ * A time range only counts as closed once it ended longer ago than the expiry period (and at least a minute ago).
+ * A message that is processed late can then only be hidden by a cached result if it arrives more than the expiry
+ * period after the end of its time range, and for no longer than the expiry period.
+ */
+class QueryResultCache {
+    private static final Logger LOG = LoggerFactory.getLogger(QueryResultCache.class);
+    // Time ranges ending within this period might still receive messages which are being processed right now
+    private static final Duration MIN_CLOSED_TIME_RANGE_GRACE_PERIOD = Duration.standardMinutes(1);
+
+    private final Cache<Key, ExecutedQuery> results;
+    private final Duration closedTimeRangeGracePeriod;
+
+    QueryResultCache(long maximumSize, java.time.Duration expireAfter, Ticker ticker) {
+        final Duration expiryPeriod = Duration.millis(expireAfter.toMillis());
+        this.closedTimeRangeGracePeriod = expiryPeriod.isLongerThan(MIN_CLOSED_TIME_RANGE_GRACE_PERIOD)
+                ? expiryPeriod
+                : MIN_CLOSED_TIME_RANGE_GRACE_PERIOD;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter.toMillis(), TimeUnit.MILLISECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns the cached result for the query if there is one, otherwise runs the query and caches its result if it
+     * completed without errors. The errors that were generated along with the result are added to the search job in
+     * both cases.
+     */
+    QueryResult getOrRun(SearchJob searchJob, Query query, Set<SearchError> validationErrors, DateTimeZone timezone,
+                         Supplier<ExecutedQuery> runner) {
+        if (!validationErrors.isEmpty() || !hasClosedTimeRanges(query)) {
+            return addErrors(searchJob, runner.get());
+        }
+        final var key = new Key(query, searchJob.getSearch().parameters(), timezone);
+        final ExecutedQuery cached = results.getIfPresent(key);
+        if (cached != null) {
+            LOG.debug("[{}] Using cached result for query with closed time range", query.id());
+            return addErrors(searchJob, cached);
+        }
+        final ExecutedQuery executed = runner.get();
+        final QueryResult result = executed.result();
+        if (result.state() == QueryResult.State.COMPLETED && (result.errors() == null || result.errors().isEmpty())) {
+            results.put(key, executed);
+        }
+        return addErrors(searchJob, executed);
+    }
+
+    private static QueryResult addErrors(SearchJob searchJob, ExecutedQuery executed) {
+        executed.errors().forEach(searchJob::addError);
+        return executed.result();
+    }
+
+    private boolean hasClosedTimeRanges(Query query) {
+        final DateTime closedBefore = Tools.nowUTC().minus(closedTimeRangeGracePeriod);
+        final boolean globalOverrideClosed = query.globalOverride()
+                .flatMap(GlobalOverride::timerange)
+                .map(timeRange -> isClosed(timeRange, closedBefore))
+                .orElse(true);
+        return globalOverrideClosed
+                && isClosed(query.timerange(), closedBefore)
+                && query.searchTypes().stream().allMatch(searchType -> isClosed(query.effectiveTimeRange(searchType), closedBefore));
+    }
+
+    private static boolean isClosed(TimeRange timeRange, DateTime closedBefore) {
+        return timeRange instanceof AbsoluteRange && timeRange.getTo().isBefore(closedBefore);
+    }
+
+    /**
+     * The result of a query together with the errors that came up while generating it. Those errors are not part of
+     * the result itself but are reported on the search job.
+     */
+    record ExecutedQuery(QueryResult result, Collection<SearchError> errors) {}
+
+    private record Key(Query query, ImmutableSet<Parameter> parameters, DateTimeZone timezone) {}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import com.codahale.metrics.Timer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hands queries over to an executor, keeping at most {@code maxConcurrentQueries} of them running at the same time
+ * and at most {@code maxConcurrentQueriesPerUser} for a single user.
+ * <p>
+ * Queries which cannot run yet are queued per user and the queues are served round-robin, so a user submitting a
+ * burst of queries (e.g. a large dashboard or a report) does not delay the queries of other users until the whole
+ * burst has been processed. At most {@code maxPendingQueries} queries wait at the same time, further queries are
+ * rejected with a {@link RejectedExecutionException}.
+ */
+final class SearchAdmissionController {
+    private static final String SYSTEM_USER = "";
+
+    private final int maxConcurrentQueries;
+    private final int maxConcurrentQueriesPerUser;
+    private final int maxPendingQueries;
+    private final Timer queueWaitTime;
+
+    // Users with pending queries, in the order in which they are served next
+    private final Map<String, Deque<PendingQuery>> pendingQueries = new LinkedHashMap<>();
+    private final Map<String, Integer> runningQueriesPerUser = new HashMap<>();
+    private int pendingQueryCount = 0;
+    private int runningQueryCount = 0;
+
+    /**
+     * @param maxConcurrentQueries        the maximum number of queries running at the same time
+     * @param maxConcurrentQueriesPerUser the maximum number of queries of a single user running at the same time,
+     *                                    {@code 0} means no limit besides {@code maxConcurrentQueries}
+     * @param maxPendingQueries           the maximum number of queries waiting to be admitted, {@code 0} means no limit
+     * @param queueWaitTime               timer recording how long queries waited before they were admitted
+     */
+    SearchAdmissionController(int maxConcurrentQueries, int maxConcurrentQueriesPerUser, int maxPendingQueries,
+                              Timer queueWaitTime) {
+        this.maxConcurrentQueries = maxConcurrentQueries;
+        this.maxConcurrentQueriesPerUser = maxConcurrentQueriesPerUser;
+        this.maxPendingQueries = maxPendingQueries;
+        this.queueWaitTime = queueWaitTime;
+    }
+
+    /**
+     * Runs the given query on the executor as soon as the concurrency budgets allow it.
+     * <p>
+     * Like {@link CompletableFuture#supplyAsync(Supplier, Executor)}, the returned future is completed with a
+     * {@link CompletionException} wrapping the exception thrown by the query, if any. If too many queries are waiting
+     * already, it is completed with a {@link CompletionException} wrapping a {@link RejectedExecutionException}.
+     */
+    <T> CompletableFuture<T> submit(String user, Supplier<T> query, Executor executor) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final PendingQuery pendingQuery = new PendingQuery(Objects.requireNonNullElse(user, SYSTEM_USER), () -> {
+            try {
+                result.complete(query.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(new CompletionException(t));
+            }
+        }, result, executor, System.nanoTime());
+
+        synchronized (this) {
+            if (maxPendingQueries > 0 && pendingQueryCount >= maxPendingQueries) {
+                result.completeExceptionally(new CompletionException(new RejectedExecutionException(
+                        "Too many queued search jobs (" + pendingQueryCount + "), rejecting query")));
+                return result;
+            }
+            pendingQueries.computeIfAbsent(pendingQuery.user(), u -> new ArrayDeque<>()).add(pendingQuery);
+            pendingQueryCount++;
+        }
+        dispatch();
+
+        return result;
+    }
+
+    synchronized int pendingQueryCount() {
+        return pendingQueryCount;
+    }
+
+    synchronized int runningQueryCount() {
+        return runningQueryCount;
+    }
+
+    private void dispatch() {
+        final List<PendingQuery> admitted = new ArrayList<>();
+        synchronized (this) {
+            PendingQuery next;
+            while (runningQueryCount < maxConcurrentQueries && (next = pollNextAdmissibleQuery()) != null) {
+                pendingQueryCount--;
+                runningQueryCount++;
+                runningQueriesPerUser.merge(next.user(), 1, Integer::sum);
+                admitted.add(next);
+            }
+        }
+        // Hand the queries over outside of the lock, executors might run them in the calling thread
+        admitted.forEach(this::run);
+    }
+
+    private PendingQuery pollNextAdmissibleQuery() {
+        final Iterator<Map.Entry<String, Deque<PendingQuery>>> it = pendingQueries.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<String, Deque<PendingQuery>> entry = it.next();
+            if (maxConcurrentQueriesPerUser > 0 && runningQueriesPerUser.getOrDefault(entry.getKey(), 0) >= maxConcurrentQueriesPerUser) {
+                continue;
+            }
+            it.remove();
+            final PendingQuery next = entry.getValue().poll();
+            if (!entry.getValue().isEmpty()) {
+                // Moves the user to the end of the line
+                pendingQueries.put(entry.getKey(), entry.getValue());
+            }
+            return next;
+        }
+        return null;
+    }
+
+    private void run(PendingQuery query) {
+        queueWaitTime.update(System.nanoTime() - query.queuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            query.executor().execute(() -> {
+                try {
+                    query.task().run();
+                } finally {
+                    release(query.user());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            query.result().completeExceptionally(new CompletionException(e));
+            release(query.user());
+        }
+    }
+
+    private void release(String user) {
+        synchronized (this) {
+            runningQueryCount--;
+            runningQueriesPerUser.computeIfPresent(user, (u, running) -> running > 1 ? running - 1 : null);
+        }
+        dispatch();
+    }
+
+    private record PendingQuery(String user, Runnable task, CompletableFuture<?> result, Executor executor,
+                                long queuedAt) {}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine.suggestions;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Node-local cache for field value suggestions.
+ * <p>
+ * Suggestions are requested for every keystroke, so the input of a request usually extends the input of a previous
+ * one. If the response for a shorter input contained <em>all</em> values starting with it, the suggestions for the
+ * longer input can be computed from it without asking the search backend again.
+ */
+@Singleton
+public class SuggestionsCache {
+    // Suggestions are used for autocompletion only, so a short period of staleness is acceptable
+    private static final Duration EXPIRE_AFTER = Duration.ofSeconds(30);
+    private static final int MAXIMUM_SIZE = 1000;
+
+    private final Cache<SuggestionRequest, SuggestionResponse> responses;
+
+    public SuggestionsCache() {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER)
+                .build();
+    }
+
+    public SuggestionResponse suggest(SuggestionRequest request, Supplier<SuggestionResponse> backend) {
+        final SuggestionResponse cached = responses.getIfPresent(request);
+        if (cached != null) {
+            return cached;
+        }
+
+        final SuggestionResponse narrowed = narrowDownCompleteResponse(request);
+        if (narrowed != null) {
+            return narrowed;
+        }
+
+        final SuggestionResponse response = backend.get();
+        if (response.suggestionError().isEmpty()) {
+            responses.put(request, response);
+        }
+        return response;
+    }
+
+    private SuggestionResponse narrowDownCompleteResponse(SuggestionRequest request) {
+        final String input = request.input();
+        for (int length = input.length() - 1; length >= 0; length--) {
+            final SuggestionRequest shorterRequest = withInput(request, input.substring(0, length));
+            final SuggestionResponse response = responses.getIfPresent(shorterRequest);
+            if (response != null && isComplete(response)) {
+                final List<SuggestionEntry> suggestions = response.suggestions().stream()
+                        .filter(suggestion -> suggestion.getValue().startsWith(input))
+                        .toList();
+                // Without matching values the backend might still come up with corrections
+                return suggestions.isEmpty() ? null : SuggestionResponse.forSuggestions(request.field(), input, suggestions, 0L);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A response is complete if it lists field values (and not spelling corrections) and there are no other values
+     * beyond them.
+     */
+    private static boolean isComplete(SuggestionResponse response) {
+        return response.suggestionError().isEmpty()
+                && !response.suggestions().isEmpty()
+                && response.sumOtherDocsCount() != null
+                && response.sumOtherDocsCount() == 0L;
+    }
+
+    private static SuggestionRequest withInput(SuggestionRequest request, String input) {
+        return SuggestionRequest.builder()
+                .fieldType(request.fieldType())
+                .field(request.field())
+                .input(input)
+                .streams(request.streams())
+                .timerange(request.timerange())
+                .size(request.size())
+                .build();
+    }
+}
@@ -57,6 +57,8 @@ public class ChunkedRunner {
                close();
             }
         });
+        // let the thread terminate once the export is done instead of keeping one idle thread per export
+        e.shutdown();
     }
 
     private void writeExceptionAsChunk(Exception ex) {
@@ -19,6 +19,7 @@ package org.graylog.plugins.views.search.rest;
 import com.google.common.collect.ImmutableSet;
 import jakarta.inject.Inject;
 import org.graylog.plugins.views.search.permissions.StreamPermissions;
+import org.graylog2.streams.StreamCache;
 import org.graylog2.streams.StreamService;
 
 import java.util.Collection;
@@ -38,20 +39,24 @@ public class PermittedStreams {
     }
 
     @Inject
-    public PermittedStreams(StreamService streamService) {
-        this(streamService::streamAllIds, streamService::mapCategoriesToIds,
+    public PermittedStreams(StreamService streamService, StreamCache streamCache) {
+        // The IDs of all streams are needed for almost every search request, so they are served from the cache
+        this(() -> streamCache.getAllStreamIds().stream(), streamService::mapCategoriesToIds,
                 () -> streamService.getSystemStreamIds(false));
     }
 
     public ImmutableSet<String> loadAllMessageStreams(final StreamPermissions streamPermissions) {
-        return allStreamsProvider.get()
-                // Unless explicitly queried, exclude event and failure indices by default
-                // Having these indices in every search, makes sorting almost impossible
-                // because it triggers https://github.com/Graylog2/graylog2-server/issues/6378
-                // TODO: this filter could be removed, once we implement https://github.com/Graylog2/graylog2-server/issues/6490
-                .filter(id -> !systemStreamIdSupplier.get().contains(id))
-                .filter(streamPermissions::canReadStream)
-                .collect(ImmutableSet.toImmutableSet());
+        final Collection<String> systemStreamIds = systemStreamIdSupplier.get();
+        try (var stream = allStreamsProvider.get()) {
+            return stream
+                    // Unless explicitly queried, exclude event and failure indices by default
+                    // Having these indices in every search, makes sorting almost impossible
+                    // because it triggers https://github.com/Graylog2/graylog2-server/issues/6378
+                    // TODO: this filter could be removed, once we implement https://github.com/Graylog2/graylog2-server/issues/6490
+                    .filter(id -> !systemStreamIds.contains(id))
+                    .filter(streamPermissions::canReadStream)
+                    .collect(ImmutableSet.toImmutableSet());
+        }
     }
 
     public ImmutableSet<String> loadAll(final StreamPermissions streamPermissions) {
@@ -34,6 +34,7 @@ import org.graylog.plugins.views.search.engine.suggestions.FieldValueSuggestionM
 import org.graylog.plugins.views.search.engine.suggestions.SuggestionFieldType;
 import org.graylog.plugins.views.search.engine.suggestions.SuggestionRequest;
 import org.graylog.plugins.views.search.engine.suggestions.SuggestionResponse;
+import org.graylog.plugins.views.search.engine.suggestions.SuggestionsCache;
 import org.graylog.plugins.views.search.permissions.SearchUser;
 import org.graylog.plugins.views.search.querystrings.LastUsedQueryStringsService;
 import org.graylog.plugins.views.search.querystrings.QueryString;
@@ -79,6 +80,7 @@ public class SuggestionsResource extends RestResource implements PluginRestResou
     public static final int SUGGESTIONS_COUNT_MAX = 100;
     private final PermittedStreams permittedStreams;
     private final QuerySuggestionsService querySuggestionsService;
+    private final SuggestionsCache suggestionsCache;
 
     private final MappedFieldTypesService mappedFieldTypesService;
 
@@ -90,6 +92,7 @@ public class SuggestionsResource extends RestResource implements PluginRestResou
     @Inject
     public SuggestionsResource(PermittedStreams permittedStreams,
                                QuerySuggestionsService querySuggestionsService,
+                               SuggestionsCache suggestionsCache,
                                MappedFieldTypesService mappedFieldTypesService,
                                EntityTitleService entityTitleService,
                                NodeService nodeService,
@@ -97,6 +100,7 @@ public class SuggestionsResource extends RestResource implements PluginRestResou
                                Configuration configuration) {
         this.permittedStreams = permittedStreams;
         this.querySuggestionsService = querySuggestionsService;
+        this.suggestionsCache = suggestionsCache;
         this.mappedFieldTypesService = mappedFieldTypesService;
         this.entityTitleService = entityTitleService;
         this.nodeService = nodeService;
@@ -144,7 +148,7 @@ public class SuggestionsResource extends RestResource implements PluginRestResou
                 .timerange(timerange)
                 .build();
 
-        SuggestionResponse res = querySuggestionsService.suggest(req, Duration.ofSeconds(10));
+        SuggestionResponse res = suggestionsCache.suggest(req, () -> querySuggestionsService.suggest(req, Duration.ofSeconds(10)));
         final List<SuggestionEntryDTO> suggestions = augmentSuggestions(res.suggestions().stream()
                 .map(s -> SuggestionEntryDTO.create(s.getValue(), s.getOccurrence()))
                 .toList(), fieldType, searchUser);
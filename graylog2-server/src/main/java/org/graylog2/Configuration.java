@@ -43,6 +43,7 @@ import org.graylog2.cluster.leader.LeaderElectionService;
 import org.graylog2.cluster.lock.MongoLockService;
 import org.graylog2.configuration.DocumentationConstants;
 import org.graylog2.configuration.converters.JavaDurationConverter;
+import org.graylog2.configuration.validators.NonNegativeDurationValidator;
 import org.graylog2.configuration.validators.PositiveJavaDurationValidator;
 import org.graylog2.notifications.Notification;
 import org.graylog2.outputs.BatchSizeConfig;
@@ -183,6 +184,19 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
     @Parameter(value = "root_email")
     private String rootEmail = "";
 
+    @Documentation("""
+            The minimum time between two writes of a user session to the database if only its last access time changed.
+            Every request of a logged in user touches the session, so the web interface alone causes a steady stream
+            of session updates. With a value greater than "0", these updates are coalesced and the session is only written
+            if it changed otherwise or the last write is older than the given time.
+            Keep this value well below the session timeout, because sessions are expired based on the last access time
+            in the database.
+            A value of "0" writes every session update to the database.
+            Default: 0s
+            """)
+    @Parameter(value = "session_touch_write_interval", validators = NonNegativeDurationValidator.class)
+    private Duration sessionTouchWriteInterval = Duration.seconds(0L);
+
     @Documentation("""
             Do you want to allow searches with leading wildcards? This can be extremely resource hungry and should only
             be enabled with care. See also: https://docs.graylog.org/docs/query-language
@@ -327,6 +341,24 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
     @Parameter(value = "index_ranges_cleanup_interval", validators = PositiveDurationValidator.class)
     private Duration indexRangesCleanupInterval = Duration.hours(1L);
 
+    @Documentation("""
+            A comma-separated list of message fields for which the distinct values of each index are recorded when
+            its index range is calculated, e.g. after index rotation. Searches which require one of these fields to
+            have a certain value skip indices that don't contain it. Use fields with few distinct values per index,
+            like "source" or "gl2_source_input".
+            Default: empty
+            """)
+    @Parameter(value = "index_ranges_field_summaries", converter = TrimmedStringSetConverter.class)
+    private Set<String> indexRangesFieldSummaries = Collections.emptySet();
+
+    @Documentation("""
+            The maximum number of distinct values which are recorded per field and index. (See "index_ranges_field_summaries")
+            If an index contains more distinct values for a field, no values are recorded and it is never skipped for that field.
+            Default: 1000
+            """)
+    @Parameter(value = "index_ranges_field_summary_max_values", validators = PositiveIntegerValidator.class)
+    private int indexRangesFieldSummaryMaxValues = 1000;
+
     @Documentation("""
             Comma separated list of trusted proxies that are allowed to set the client address with X-Forwarded-For
             header. May be subnets, or hosts.
@@ -453,6 +485,7 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
 
     @Documentation("""
             The queue size for the thread pool that executes search jobs for indexed data. (Data Node/OpenSearch)
+            Search jobs which are submitted while the queue is full are rejected.
             A value of "0" means that the queue is unbounded.
             WARNING: This configuration setting should only be changed if you are certain of what you are doing.
                      Modifying this setting without proper knowledge may lead to unexpected behavior or system
@@ -483,6 +516,49 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
     @Parameter("search_query_engine_data_lake_jobs_queue_size")
     private int searchQueryEngineDataLakeJobsQueueSize = 0;
 
+    @Documentation("""
+            The maximum number of search jobs for indexed data a single user can run at the same time.
+            Search jobs which exceed this limit wait until one of the user's other search jobs finished. Waiting search
+            jobs of different users are started in turns, so a dashboard or report with many widgets does not delay the
+            searches of other users until all of its widgets have been processed.
+            A value of "0" means that a single user can use the whole thread pool.
+            (See "search_query_engine_indexer_jobs_pool_size")
+            Default: 0
+            """)
+    @Parameter("search_query_engine_indexer_jobs_per_user_limit")
+    private int searchQueryEngineIndexerJobsPerUserLimit = 0;
+
+    @Documentation("""
+            The maximum number of messages a search job for indexed data is estimated to look at before it is rejected.
+            The estimation is based on the message counts recorded with the index ranges of indices which are no
+            longer written to.
+            A value of "0" means that no search job gets rejected.
+            Default: 0
+            """)
+    @Parameter("search_query_engine_max_estimated_messages")
+    private long searchQueryEngineMaxEstimatedMessages = 0L;
+
+    @Documentation("""
+            The maximum number of query results that are kept in memory for searches whose time ranges are absolute
+            and lie completely in the past. Dashboards and reports that repeatedly execute the same search over such a
+            time range are answered from this cache instead of running the search again.
+            Searches with relative time ranges, like most dashboards on wall displays, don't benefit from this cache.
+            A value of "0" disables the cache.
+            Default: 0
+            """)
+    @Parameter("search_query_engine_result_cache_size")
+    private int searchQueryEngineResultCacheSize = 0;
+
+    @Documentation("""
+            The time after which a cached query result expires. (See "search_query_engine_result_cache_size")
+            Only time ranges that ended longer ago than this time (and at least one minute ago) are cached.
+            Messages that arrive even later for a cached time range will only be visible after the cached result expired,
+            so keep this value above the usual processing delay, e.g. caused by a journal backlog.
+            Default: 5m
+            """)
+    @Parameter(value = "search_query_engine_result_cache_expire_after", validators = PositiveDurationValidator.class)
+    private Duration searchQueryEngineResultCacheExpireAfter = Duration.minutes(5L);
+
     @Documentation("""
             Enabling this parameter will activate automatic security configuration. Graylog server will
             set a default 30-day automatic certificate renewal policy and create a self-signed CA. This CA
@@ -638,6 +714,10 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
         return rootEmail;
     }
 
+    public Duration getSessionTouchWriteInterval() {
+        return sessionTouchWriteInterval;
+    }
+
     public boolean isAllowLeadingWildcardSearches() {
         return allowLeadingWildcardSearches;
     }
@@ -728,6 +808,14 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
         return indexRangesCleanupInterval;
     }
 
+    public Set<String> getIndexRangesFieldSummaries() {
+        return indexRangesFieldSummaries;
+    }
+
+    public int getIndexRangesFieldSummaryMaxValues() {
+        return indexRangesFieldSummaryMaxValues;
+    }
+
     public Set<IpSubnet> getTrustedProxies() {
         return trustedProxies;
     }
@@ -841,6 +929,22 @@ public class Configuration extends CaConfiguration implements CommonNodeConfigur
         return searchQueryEngineDataLakeJobsQueueSize;
     }
 
+    public int searchQueryEngineIndexerJobsPerUserLimit() {
+        return searchQueryEngineIndexerJobsPerUserLimit;
+    }
+
+    public long searchQueryEngineMaxEstimatedMessages() {
+        return searchQueryEngineMaxEstimatedMessages;
+    }
+
+    public int searchQueryEngineResultCacheSize() {
+        return searchQueryEngineResultCacheSize;
+    }
+
+    public Duration searchQueryEngineResultCacheExpireAfter() {
+        return searchQueryEngineResultCacheExpireAfter;
+    }
+
     public String getPreflightWebPassword() {
         return preflightWebPassword;
     }
@@ -25,7 +25,6 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.assistedinject.Assisted;
 import jakarta.inject.Inject;
 import org.graylog2.Configuration;
@@ -142,6 +141,8 @@ public class OutputBufferProcessor implements WorkHandler<MessageEvent> {
      * <p>
      * The default output, however, is allowed to block and is not subject to time limiting. This is important because it
      * can exert back pressure on the processing pipeline this way, making sure we don't run into excessive heap usage.
+     * It is written to on the calling thread while the stream outputs are running, so the common case of a message
+     * without stream outputs does not need a task submission and hand-off per message.
      * </p>
      *
      * @param event the message to write to outputs
@@ -161,25 +162,22 @@ public class OutputBufferProcessor implements WorkHandler<MessageEvent> {
         final Set<MessageOutput> messageOutputs = outputRouter.getStreamOutputsForMessage(msg);
         msg.recordCounter(serverStatus, "matched-outputs", messageOutputs.size());
 
-        final Future<?> defaultOutputCompletion = processMessage(msg, defaultMessageOutput);
-
-        final CountDownLatch streamOutputsDoneSignal = new CountDownLatch(messageOutputs.size());
-        for (final MessageOutput output : messageOutputs) {
-            processMessage(msg, output, streamOutputsDoneSignal);
-        }
-
-        // Wait until all writer threads for stream outputs have finished or timeout is reached.
-        if (!streamOutputsDoneSignal.await(configuration.getOutputModuleTimeout(), TimeUnit.MILLISECONDS)) {
-            LOG.warn("Timeout reached. Not waiting any longer for stream output writer threads to complete.");
+        CountDownLatch streamOutputsDoneSignal = null;
+        if (!messageOutputs.isEmpty()) {
+            streamOutputsDoneSignal = new CountDownLatch(messageOutputs.size());
+            for (final MessageOutput output : messageOutputs) {
+                processMessage(msg, output, streamOutputsDoneSignal);
+            }
         }
 
-        // now block until the default output has finished. most batching outputs will already been done because their
+        // write to the default output on this thread. most batching outputs will be done quickly because their
         // fast path is really fast (usually an insert into a queue), but the slow flush path might block for a long time
         // this exerts the back pressure to the system
-        if (defaultOutputCompletion != null) {
-            Uninterruptibles.getUninterruptibly(defaultOutputCompletion);
-        } else {
-            LOG.error("The default output future was null, this is a bug!");
+        writeToDefaultOutput(msg);
+
+        // Wait until all writer threads for stream outputs have finished or timeout is reached.
+        if (streamOutputsDoneSignal != null && !streamOutputsDoneSignal.await(configuration.getOutputModuleTimeout(), TimeUnit.MILLISECONDS)) {
+            LOG.warn("Timeout reached. Not waiting any longer for stream output writer threads to complete.");
         }
 
         if (msg.hasRecordings()) {
@@ -193,8 +191,24 @@ public class OutputBufferProcessor implements WorkHandler<MessageEvent> {
         event.clearMessages();
     }
 
-    private Future<?> processMessage(final Message msg, final MessageOutput defaultMessageOutput) {
-        return processMessage(msg, defaultMessageOutput, new CountDownLatch(0));
+    private void writeToDefaultOutput(final Message msg) {
+        if (defaultMessageOutput == null) {
+            LOG.error("Output was null!");
+            return;
+        }
+        if (!defaultMessageOutput.isRunning()) {
+            LOG.debug("Skipping stopped output {}", defaultMessageOutput.getClass().getName());
+            return;
+        }
+        LOG.debug("Writing message to [{}].", defaultMessageOutput.getClass());
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Message id for [{}]: <{}>", defaultMessageOutput.getClass(), msg.getId());
+        }
+        try (Timer.Context ignored = processTime.time()) {
+            defaultMessageOutput.write(msg);
+        } catch (Exception e) {
+            LOG.error("Error in output [" + defaultMessageOutput.getClass() + "].", e);
+        }
     }
 
     private Future<?> processMessage(final Message msg, final MessageOutput output, final CountDownLatch doneSignal) {
@@ -24,17 +24,22 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.AbstractExecutionThreadService;
 import com.mongodb.CursorType;
+import com.mongodb.MongoCommandException;
 import com.mongodb.MongoException;
 import com.mongodb.MongoQueryException;
 import com.mongodb.WriteConcern;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.graylog2.bindings.providers.MongoJackObjectMapperProvider;
@@ -48,7 +53,10 @@ import org.graylog2.shared.utilities.AutoValueUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -58,12 +66,19 @@ public class ClusterEventService extends AbstractExecutionThreadService {
     @VisibleForTesting
     static final String COLLECTION_NAME = "cluster_events";
 
+    // "The $changeStream stage is only supported on replica sets"
+    private static final int CHANGE_STREAMS_NOT_SUPPORTED = 40573;
+    // The resume token is no longer in the oplog
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
     private final MongoCollection<ClusterEvent> collection;
     private final NodeId nodeId;
     private final ObjectMapper objectMapper;
     private final EventBus serverEventBus;
     private final RestrictedChainingClassLoader chainingClassLoader;
     private Offset offset;
+    private BsonDocument resumeToken;
+    private boolean changeStreamsSupported = true;
 
     @Inject
     public ClusterEventService(final MongoJackObjectMapperProvider mapperProvider,
@@ -119,19 +134,8 @@ public class ClusterEventService extends AbstractExecutionThreadService {
     @Override
     protected void run() {
         while (isRunning()) {
-            final var events = eventsIterable(this.offset)
-                    .cursorType(CursorType.TailableAwait)
-                    .maxAwaitTime(1, TimeUnit.SECONDS)
-                    .noCursorTimeout(true);
-            try (final var cursor = events.iterator()) {
-                if (!isRunning()) {
-                    return;
-                }
-                iterateEvents(cursor);
-            } catch (Exception e) {
-                if (!(e instanceof MongoQueryException mqe && mqe.getErrorCodeName().equals("QueryPlanKilled"))) {
-                    LOG.warn("Error while reading cluster events from MongoDB, retrying.", e);
-                }
+            if (!readEvents()) {
+                continue;
             }
             if (isRunning()) {
                 try {
@@ -144,6 +148,104 @@ public class ClusterEventService extends AbstractExecutionThreadService {
         }
     }
 
+    /**
+     * Reads cluster events until the change stream or cursor ends.
+     *
+     * @return {@code false} if reading should be retried right away
+     */
+    @VisibleForTesting
+    boolean readEvents() {
+        try {
+            if (changeStreamsSupported) {
+                watchEvents();
+            } else {
+                tailEvents();
+            }
+        } catch (Exception e) {
+            if (e instanceof MongoCommandException mce && mce.getErrorCode() == CHANGE_STREAMS_NOT_SUPPORTED) {
+                LOG.info("MongoDB doesn't support change streams, falling back to tailing \"{}\".", COLLECTION_NAME);
+                changeStreamsSupported = false;
+                return false;
+            }
+            if (e instanceof MongoCommandException mce && mce.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                // catch up from the last processed offset instead
+                resumeToken = null;
+            }
+            if (!(e instanceof MongoQueryException mqe && mqe.getErrorCodeName().equals("QueryPlanKilled"))) {
+                LOG.warn("Error while reading cluster events from MongoDB, retrying.", e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Receives new cluster events through a change stream, so they are delivered as soon as they are written instead
+     * of waiting for a new tailable cursor after the previous one died on an empty result.
+     */
+    private void watchEvents() {
+        try (final var cursor = openChangeStream()) {
+            LOG.debug("Opened MongoDB change stream on \"{}\"", COLLECTION_NAME);
+            // The change stream only contains events written after it has been opened, so catch up on the events
+            // written since the last offset first. Events can show up in both, they are skipped in the change stream.
+            // The timestamps are set by the writing nodes and don't follow the commit order, so they can't be used
+            // to tell which change stream events have already been seen.
+            final Set<String> caughtUpEventIds = resumeToken == null ? catchUp() : new HashSet<>();
+            while (isRunning()) {
+                final ChangeStreamDocument<ClusterEvent> change = cursor.tryNext();
+                if (change == null) {
+                    continue;
+                }
+                resumeToken = change.getResumeToken();
+                final ClusterEvent clusterEvent = change.getFullDocument();
+                if (clusterEvent != null && !caughtUpEventIds.remove(clusterEvent.id())) {
+                    processEvent(clusterEvent);
+                }
+            }
+        }
+    }
+
+    @VisibleForTesting
+    MongoCursor<ChangeStreamDocument<ClusterEvent>> openChangeStream() {
+        final var changeStream = collection.watch(List.of(Aggregates.match(Filters.and(
+                        Filters.eq("operationType", OperationType.INSERT.getValue()),
+                        Filters.ne("fullDocument." + ClusterEvent.FIELD_PRODUCER, nodeId.getNodeId())))))
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            changeStream.resumeAfter(resumeToken);
+        }
+        return changeStream.iterator();
+    }
+
+    /**
+     * Processes the events written since the last offset.
+     *
+     * @return the IDs of the processed events
+     */
+    private Set<String> catchUp() {
+        final Set<String> eventIds = new HashSet<>();
+        try (final var cursor = eventsIterable(this.offset).iterator()) {
+            while (isRunning() && cursor.hasNext()) {
+                final ClusterEvent clusterEvent = cursor.next();
+                processEvent(clusterEvent);
+                eventIds.add(clusterEvent.id());
+            }
+        }
+        return eventIds;
+    }
+
+    private void tailEvents() {
+        final var events = eventsIterable(this.offset)
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(1, TimeUnit.SECONDS)
+                .noCursorTimeout(true);
+        try (final var cursor = events.iterator()) {
+            if (!isRunning()) {
+                return;
+            }
+            iterateEvents(cursor);
+        }
+    }
+
     @VisibleForTesting
     void iterateEvents(MongoCursor<ClusterEvent> cursor) {
         LOG.debug("Opened MongoDB cursor on \"{}\"", COLLECTION_NAME);
@@ -155,17 +257,21 @@ public class ClusterEventService extends AbstractExecutionThreadService {
                 }
                 continue;
             }
-            LOG.trace("Processing cluster event: {}", clusterEvent);
-            Object payload = extractPayload(clusterEvent.payload(), clusterEvent.eventClass());
-            if (payload != null) {
-                serverEventBus.post(payload);
-            } else {
-                LOG.warn("Couldn't extract payload of cluster event with ID <{}>", clusterEvent.id());
-                LOG.debug("Invalid payload in cluster event: {}", clusterEvent);
-            }
+            processEvent(clusterEvent);
+        }
+    }
 
-            this.offset = new Offset(clusterEvent.timestamp(), clusterEvent.id());
+    private void processEvent(ClusterEvent clusterEvent) {
+        LOG.trace("Processing cluster event: {}", clusterEvent);
+        Object payload = extractPayload(clusterEvent.payload(), clusterEvent.eventClass());
+        if (payload != null) {
+            serverEventBus.post(payload);
+        } else {
+            LOG.warn("Couldn't extract payload of cluster event with ID <{}>", clusterEvent.id());
+            LOG.debug("Invalid payload in cluster event: {}", clusterEvent);
         }
+
+        this.offset = new Offset(clusterEvent.timestamp(), clusterEvent.id());
     }
 
     @Subscribe
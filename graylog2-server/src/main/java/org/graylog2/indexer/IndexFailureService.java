@@ -30,4 +30,9 @@ public interface IndexFailureService extends PersistedService {
     long countSince(DateTime since);
 
     long totalCount();
+
+    /**
+     * Inserts the given index failures with a single bulk write.
+     */
+    void saveAll(List<IndexFailure> failures);
 }
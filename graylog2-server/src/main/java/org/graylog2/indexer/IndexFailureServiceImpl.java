@@ -76,4 +76,19 @@ public class IndexFailureServiceImpl extends PersistedServiceImpl implements Ind
     public long totalCount() {
         return collection(IndexFailureImpl.class).count();
     }
+
+    @Override
+    public void saveAll(List<IndexFailure> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        final List<DBObject> docs = new ArrayList<>(failures.size());
+        for (IndexFailure failure : failures) {
+            final BasicDBObject doc = new BasicDBObject(failure.getFields());
+            doc.put("_id", new ObjectId(failure.getId()));
+            fieldTransformations(doc);
+            docs.add(doc);
+        }
+        collection(IndexFailureImpl.class).insert(docs);
+    }
 }
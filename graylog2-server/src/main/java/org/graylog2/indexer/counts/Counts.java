@@ -20,19 +20,25 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.graylog2.indexer.indexset.registry.IndexSetRegistry;
 import org.graylog2.indexer.indexset.basic.BasicIndexSet;
+import org.graylog2.indexer.ranges.IndexRange;
+import org.graylog2.indexer.ranges.IndexRangeService;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Singleton
 public class Counts {
     private final IndexSetRegistry indexSetRegistry;
     private final CountsAdapter countsAdapter;
+    private final IndexRangeService indexRangeService;
 
     @Inject
-    public Counts(IndexSetRegistry indexSetRegistry, CountsAdapter countsAdapter) {
+    public Counts(IndexSetRegistry indexSetRegistry, CountsAdapter countsAdapter, IndexRangeService indexRangeService) {
         this.indexSetRegistry = indexSetRegistry;
         this.countsAdapter = countsAdapter;
+        this.indexRangeService = indexRangeService;
     }
 
     public long total() {
@@ -50,7 +56,30 @@ public class Counts {
             return 0L;
         }
 
-        final List<String> indices = Arrays.asList(indexNames);
-        return countsAdapter.totalCount(indices);
+        // Indices which are no longer written to have their document count recorded with their index range,
+        // so only the remaining ones (usually just the write index) have to be counted by the search backend.
+        final Map<String, Long> recordedCounts = recordedDocumentCounts();
+        long total = 0L;
+        final List<String> uncountedIndices = new ArrayList<>();
+        for (String indexName : indexNames) {
+            final Long recordedCount = recordedCounts.get(indexName);
+            if (recordedCount != null) {
+                total += recordedCount;
+            } else {
+                uncountedIndices.add(indexName);
+            }
+        }
+
+        return uncountedIndices.isEmpty() ? total : total + countsAdapter.totalCount(uncountedIndices);
+    }
+
+    private Map<String, Long> recordedDocumentCounts() {
+        final Map<String, Long> counts = new HashMap<>();
+        for (IndexRange indexRange : indexRangeService.findAll()) {
+            if (indexRange.documentCount() != null) {
+                counts.put(indexRange.indexName(), indexRange.documentCount());
+            }
+        }
+        return counts;
     }
 }
@@ -39,9 +39,11 @@ import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
@@ -69,6 +71,8 @@ public class IndexFieldTypePollerPeriodical extends Periodical {
     private volatile Instant lastFullRefresh = Instant.MIN;
     private final ConcurrentHashMap<String, Instant> lastPoll = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Boolean> pollInProgress = new ConcurrentHashMap<>();
+    // The field types which have been stored for the active write index of each index set by the last poll
+    private final ConcurrentHashMap<String, IndexFieldTypesDTO> lastPolledWriteIndexTypes = new ConcurrentHashMap<>();
 
     @Inject
     public IndexFieldTypePollerPeriodical(final IndexFieldTypePoller poller,
@@ -126,7 +130,9 @@ public class IndexFieldTypePollerPeriodical extends Periodical {
             allConfigs = allIndexSetConfigs = new LinkedHashSet<>(indexSetService.findAll());
 
             // Only maintain the previous polling time for index sets which actually exist
-            lastPoll.keySet().retainAll(allConfigs.stream().map(IndexSetConfig::id).collect(Collectors.toSet()));
+            final Set<String> indexSetIds = allConfigs.stream().map(IndexSetConfig::id).collect(Collectors.toSet());
+            lastPoll.keySet().retainAll(indexSetIds);
+            lastPolledWriteIndexTypes.keySet().retainAll(indexSetIds);
         }
 
         if (forceFullRefresh || needsFullRefresh()) {
@@ -150,17 +156,23 @@ public class IndexFieldTypePollerPeriodical extends Periodical {
 
             try {
                 final Set<IndexFieldTypesDTO> existingIndexTypes = ImmutableSet.copyOf(dbService.findForIndexSet(indexSetId));
+                final Map<String, IndexFieldTypesDTO> existingIndexTypesByName = existingIndexTypes.stream()
+                        .collect(Collectors.toMap(IndexFieldTypesDTO::indexName, types -> types, (a, b) -> a));
 
                 final IndexSet indexSet = mongoIndexSetFactory.create(indexSetConfig);
 
-                // We check that we have the field types for all existing indices
+                // We check that we have the field types for all existing indices. The changed ones are stored
+                // together, so only a single update event is posted for the whole index set.
                 LOG.debug("Refreshing index field types for index set <{}/{}>", indexSetTitle, indexSetId);
-                poller.poll(indexSet, existingIndexTypes).forEach(dbService::upsert);
+                dbService.upsertAll(poller.poll(indexSet, existingIndexTypes).stream()
+                        .filter(types -> !isUnchanged(types, existingIndexTypesByName.get(types.indexName())))
+                        .toList());
 
                 // Cleanup orphaned field type entries that haven't been removed by the event handler
-                dbService.findForIndexSet(indexSetId).stream()
+                dbService.deleteAll(dbService.findForIndexSet(indexSetId).stream()
                         .filter(types -> !indices.exists(types.indexName()))
-                        .forEach(types -> dbService.delete(types.id()));
+                        .map(IndexFieldTypesDTO::id)
+                        .toList());
             } finally {
                 lastPoll.put(indexSetId, Instant.now());
             }
@@ -202,7 +214,12 @@ public class IndexFieldTypePollerPeriodical extends Periodical {
                 if (activeWriteIndex != null) {
                     LOG.debug("Updating index field types for active write index <{}> in index set <{}/{}>",
                             activeWriteIndex, indexSetTitle, indexSetId);
-                    poller.pollIndex(activeWriteIndex, indexSetId).ifPresent(dbService::upsert);
+                    poller.pollIndex(activeWriteIndex, indexSetId).ifPresent(types -> {
+                        if (!isUnchanged(types, lastPolledWriteIndexTypes.get(indexSetId))) {
+                            dbService.upsert(types);
+                            lastPolledWriteIndexTypes.put(indexSetId, types);
+                        }
+                    });
                 } else {
                     LOG.warn("Active write index for index set \"{}\" ({}) doesn't exist yet",
                             indexSetTitle, indexSetId);
@@ -220,6 +237,22 @@ public class IndexFieldTypePollerPeriodical extends Periodical {
         });
     }
 
+    /**
+     * Checks whether the polled field types are the same as the already stored ones. The mapping of an index rarely
+     * changes, so this avoids rewriting (and invalidating) the field types of the write indices on every poll.
+     */
+    private boolean isUnchanged(IndexFieldTypesDTO polledTypes, @Nullable IndexFieldTypesDTO existingTypes) {
+        if (existingTypes != null
+                && existingTypes.indexName().equals(polledTypes.indexName())
+                && existingTypes.indexSetId().equals(polledTypes.indexSetId())
+                && existingTypes.hasStreamData() == polledTypes.hasStreamData()
+                && existingTypes.fields().equals(polledTypes.fields())) {
+            LOG.trace("Field types of index <{}> are unchanged", polledTypes.indexName());
+            return true;
+        }
+        return false;
+    }
+
     private boolean needsFullRefresh() {
         if (fullRefreshInterval.toSeconds() == 0) {
             return false;
@@ -275,10 +308,8 @@ public class IndexFieldTypePollerPeriodical extends Periodical {
     public void handleIndexDeletion(final IndicesDeletedEvent event) {
         // This is not a cluster event and should be allowed to be executed on non-leader nodes to ensure
         // a timely cleanup
-        event.indices().forEach(indexName -> {
-            LOG.debug("Removing field type information for deleted index <{}>", indexName);
-            dbService.delete(indexName);
-        });
+        LOG.debug("Removing field type information for deleted indices <{}>", event.indices());
+        dbService.deleteAll(event.indices());
     }
 
     @Override
@@ -31,15 +31,17 @@ import org.bson.types.ObjectId;
 import org.graylog2.database.MongoCollection;
 import org.graylog2.database.MongoCollections;
 import org.graylog2.database.utils.MongoUtils;
+import org.graylog2.events.ClusterEventBus;
+import org.graylog2.indexer.fieldtypes.events.IndexFieldTypesUpdatedEvent;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
@@ -63,11 +65,13 @@ public class IndexFieldTypesService {
 
     private final MongoCollection<IndexFieldTypesDTO> collection;
     private final MongoUtils<IndexFieldTypesDTO> mongoUtils;
+    private final ClusterEventBus clusterEventBus;
 
     @Inject
-    public IndexFieldTypesService(MongoCollections mongoCollections) {
+    public IndexFieldTypesService(MongoCollections mongoCollections, ClusterEventBus clusterEventBus) {
         collection = mongoCollections.collection("index_field_types", IndexFieldTypesDTO.class);
         mongoUtils = mongoCollections.utils(collection);
+        this.clusterEventBus = clusterEventBus;
 
         collection.createIndex(ascending(FIELD_INDEX_NAME, FIELD_INDEX_SET_ID), new IndexOptions().unique(true));
         collection.createIndex(ascending(FIELD_INDEX_NAME), new IndexOptions().unique(true));
@@ -123,10 +127,33 @@ public class IndexFieldTypesService {
     }
 
     public IndexFieldTypesDTO save(IndexFieldTypesDTO dto) {
-        return mongoUtils.save(dto);
+        final IndexFieldTypesDTO saved = mongoUtils.save(dto);
+        fieldTypesUpdated(Set.of(dto.indexName()));
+        return saved;
     }
 
     public Optional<IndexFieldTypesDTO> upsert(IndexFieldTypesDTO dto) {
+        final Optional<IndexFieldTypesDTO> upserted = doUpsert(dto);
+        fieldTypesUpdated(Set.of(dto.indexName()));
+        return upserted;
+    }
+
+    /**
+     * Upserts the given field types and posts a single {@link IndexFieldTypesUpdatedEvent} for all of their indices.
+     */
+    public void upsertAll(Collection<IndexFieldTypesDTO> dtos) {
+        final Set<String> updatedIndices = new HashSet<>();
+        try {
+            for (final IndexFieldTypesDTO dto : dtos) {
+                doUpsert(dto);
+                updatedIndices.add(dto.indexName());
+            }
+        } finally {
+            fieldTypesUpdated(updatedIndices);
+        }
+    }
+
+    private Optional<IndexFieldTypesDTO> doUpsert(IndexFieldTypesDTO dto) {
         final UpdateResult updateResult = collection.replaceOne(
                 and(
                         eq(FIELD_INDEX_NAME, dto.indexName()),
@@ -147,11 +174,40 @@ public class IndexFieldTypesService {
     }
 
     public void delete(String idOrIndexName) {
+        doDelete(idOrIndexName).ifPresent(indexName -> fieldTypesUpdated(Set.of(indexName)));
+    }
+
+    /**
+     * Deletes the given field types and posts a single {@link IndexFieldTypesUpdatedEvent} for all of their indices.
+     */
+    public void deleteAll(Collection<String> idsOrIndexNames) {
+        final Set<String> updatedIndices = new HashSet<>();
+        try {
+            idsOrIndexNames.forEach(idOrIndexName -> doDelete(idOrIndexName).ifPresent(updatedIndices::add));
+        } finally {
+            fieldTypesUpdated(updatedIndices);
+        }
+    }
+
+    /**
+     * @return the name of the index whose field types have been deleted, if any
+     */
+    private Optional<String> doDelete(String idOrIndexName) {
         try {
-            mongoUtils.deleteById(new ObjectId(idOrIndexName));
+            return Optional.ofNullable(collection.findOneAndDelete(MongoUtils.idEq(new ObjectId(idOrIndexName))))
+                    .map(IndexFieldTypesDTO::indexName);
         } catch (IllegalArgumentException e) {
             // Not an ObjectId, try again with index_name
-            collection.deleteOne(eq(FIELD_INDEX_NAME, idOrIndexName));
+            if (collection.deleteOne(eq(FIELD_INDEX_NAME, idOrIndexName)).getDeletedCount() > 0) {
+                return Optional.of(idOrIndexName);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private void fieldTypesUpdated(Set<String> indexNames) {
+        if (!indexNames.isEmpty()) {
+            clusterEventBus.post(IndexFieldTypesUpdatedEvent.create(indexNames));
         }
     }
 
@@ -176,21 +232,6 @@ public class IndexFieldTypesService {
         return findByQuery(query);
     }
 
-    public Collection<FieldTypeDTO> findForSingleField(String fieldName, Collection<String> indexNames) {
-        final var query = and(
-                in(FIELD_INDEX_NAME, indexNames),
-                in(FIELDS_FIELD_NAMES, fieldName)
-        );
-
-        return collection.aggregate(Arrays.asList(
-                        Aggregates.match(query),
-                        Aggregates.unwind("$" + FIELD_FIELDS),
-                        Aggregates.match(Filters.eq(FIELDS_FIELD_NAMES, fieldName)),
-                        Aggregates.replaceRoot("$" + FIELD_FIELDS)
-                ), FieldTypeDTO.class)
-                .into(new HashSet<>());
-    }
-
     public Collection<IndexFieldTypesDTO> findAll() {
         return findByQuery(Filters.empty());
     }
@@ -16,21 +16,33 @@
  */
 package org.graylog2.indexer.fieldtypes;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
 import jakarta.inject.Inject;
 import org.graylog.plugins.formatting.units.fields.FieldUnitObtainer;
 import org.graylog.plugins.formatting.units.model.UnitId;
 import org.graylog.plugins.views.search.elasticsearch.IndexLookup;
 import org.graylog.plugins.views.search.rest.MappedFieldTypeDTO;
 import org.graylog2.Configuration;
+import org.graylog2.indexer.fieldtypes.events.IndexFieldTypesUpdatedEvent;
+import org.graylog2.indexer.indices.events.IndicesDeletedEvent;
 import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.collect.ImmutableSet.of;
 import static org.graylog2.indexer.fieldtypes.FieldTypes.Type.createType;
@@ -38,6 +50,7 @@ import static org.graylog2.indexer.fieldtypes.FieldTypes.Type.createType;
 public class MappedFieldTypesServiceImpl implements MappedFieldTypesService {
     private static final FieldTypes.Type UNKNOWN_TYPE = createType("unknown", of());
     private static final String PROP_COMPOUND_TYPE = "compound";
+    private static final Duration FIELD_TYPES_EXPIRY = Duration.ofSeconds(10);
 
     private final IndexFieldTypesService indexFieldTypesService;
     private final FieldTypeMapper fieldTypeMapper;
@@ -45,25 +58,47 @@ public class MappedFieldTypesServiceImpl implements MappedFieldTypesService {
     private final boolean streamAwareFieldTypes;
     private final FieldUnitObtainer fieldUnitObtainer;
 
+    // Field types of the indices which have been looked up before. Entries are dropped whenever the stored field
+    // types of an index change, so the database only has to be queried for indices with unknown or changed types.
+    private final Cache<String, IndexFieldTypesDTO> fieldTypesByIndexName;
+    private long fieldTypesGeneration = 0L;
 
     @Inject
     public MappedFieldTypesServiceImpl(final Configuration configuration,
                                        final IndexFieldTypesService indexFieldTypesService,
                                        final FieldTypeMapper fieldTypeMapper,
                                        final IndexLookup indexLookup,
-                                       final FieldUnitObtainer fieldUnitObtainer) {
+                                       final FieldUnitObtainer fieldUnitObtainer,
+                                       final EventBus eventBus) {
+        this(configuration, indexFieldTypesService, fieldTypeMapper, indexLookup, fieldUnitObtainer, eventBus, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    MappedFieldTypesServiceImpl(final Configuration configuration,
+                                final IndexFieldTypesService indexFieldTypesService,
+                                final FieldTypeMapper fieldTypeMapper,
+                                final IndexLookup indexLookup,
+                                final FieldUnitObtainer fieldUnitObtainer,
+                                final EventBus eventBus,
+                                final Ticker ticker) {
         this.indexFieldTypesService = indexFieldTypesService;
         this.fieldTypeMapper = fieldTypeMapper;
         this.indexLookup = indexLookup;
         this.streamAwareFieldTypes = configuration.maintainsStreamAwareFieldTypes();
         this.fieldUnitObtainer = fieldUnitObtainer;
+        this.fieldTypesByIndexName = Caffeine.newBuilder()
+                // Expire after write to limit the staleness in case a field types update has been missed
+                .expireAfterWrite(FIELD_TYPES_EXPIRY)
+                .ticker(ticker)
+                .build();
+
+        eventBus.register(this);
     }
 
     @Override
     public Set<MappedFieldTypeDTO> fieldTypesByStreamIds(Collection<String> streamIds, TimeRange timeRange) {
         final Set<String> indexNames = this.indexLookup.indexNamesForStreamsInTimeRange(streamIds, timeRange);
-        final var fieldTypeDTOs = this.indexFieldTypesService.findByIndexNames(indexNames)
-                .stream()
+        final var fieldTypeDTOs = fieldTypesOfIndices(indexNames)
                 .flatMap(fieldTypes -> fieldTypes.fields().stream())
                 .filter(fieldTypeDTO -> !streamAwareFieldTypes || !Collections.disjoint(fieldTypeDTO.streams(), streamIds));
 
@@ -73,13 +108,62 @@ public class MappedFieldTypesServiceImpl implements MappedFieldTypesService {
     @Override
     public Set<MappedFieldTypeDTO> singleFieldTypeByStreamIds(Collection<String> streamIds, TimeRange timeRange, String field) {
         final var indexNames = this.indexLookup.indexNamesForStreamsInTimeRange(streamIds, timeRange);
-        final var fieldTypeDTOs = this.indexFieldTypesService.findForSingleField(field, indexNames)
-                .stream()
+        final var fieldTypeDTOs = fieldTypesOfIndices(indexNames)
+                .flatMap(fieldTypes -> fieldTypes.fields().stream())
+                .filter(fieldTypeDTO -> fieldTypeDTO.fieldName().equals(field))
                 .filter(fieldTypeDTO -> !streamAwareFieldTypes || !Collections.disjoint(fieldTypeDTO.streams(), streamIds));
 
         return mergeCompoundFieldTypes(fieldTypeDTOs.map(this::mapPhysicalFieldType));
     }
 
+    private Stream<IndexFieldTypesDTO> fieldTypesOfIndices(Set<String> indexNames) {
+        final List<IndexFieldTypesDTO> fieldTypes = new ArrayList<>(indexNames.size());
+        final Set<String> missingIndexNames = new LinkedHashSet<>();
+        for (String indexName : indexNames) {
+            final IndexFieldTypesDTO cached = fieldTypesByIndexName.getIfPresent(indexName);
+            if (cached != null) {
+                fieldTypes.add(cached);
+            } else {
+                missingIndexNames.add(indexName);
+            }
+        }
+
+        if (!missingIndexNames.isEmpty()) {
+            final long generation = currentGeneration();
+            final List<IndexFieldTypesDTO> loaded = indexFieldTypesService.findByIndexNames(missingIndexNames);
+            synchronized (this) {
+                // Don't cache what we just loaded if the stored field types changed in the meantime
+                if (generation == fieldTypesGeneration) {
+                    loaded.forEach(dto -> fieldTypesByIndexName.put(dto.indexName(), dto));
+                }
+            }
+            fieldTypes.addAll(loaded);
+        }
+
+        return fieldTypes.stream();
+    }
+
+    @Subscribe
+    @SuppressWarnings("unused")
+    public void handleIndexFieldTypesUpdated(IndexFieldTypesUpdatedEvent event) {
+        invalidate(event.indices());
+    }
+
+    @Subscribe
+    @SuppressWarnings("unused")
+    public void handleIndicesDeleted(IndicesDeletedEvent event) {
+        invalidate(event.indices());
+    }
+
+    private synchronized long currentGeneration() {
+        return fieldTypesGeneration;
+    }
+
+    private synchronized void invalidate(Collection<String> indexNames) {
+        fieldTypesGeneration++;
+        fieldTypesByIndexName.invalidateAll(indexNames);
+    }
+
     private MappedFieldTypeDTO mapPhysicalFieldType(FieldTypeDTO fieldType) {
         final FieldTypes.Type mappedFieldType = fieldTypeMapper.mapType(fieldType).orElse(UNKNOWN_TYPE);
         return new MappedFieldTypeDTO(fieldType.fieldName(),
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.indexer.fieldtypes.events;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+
+/**
+ * Cluster event which is posted whenever the stored field types of the given indices have changed.
+ */
+@AutoValue
+@JsonAutoDetect
+public abstract class IndexFieldTypesUpdatedEvent {
+    private static final String FIELD_INDICES = "indices";
+
+    @JsonProperty(FIELD_INDICES)
+    public abstract Set<String> indices();
+
+    @JsonCreator
+    public static IndexFieldTypesUpdatedEvent create(@JsonProperty(FIELD_INDICES) Set<String> indices) {
+        return new AutoValue_IndexFieldTypesUpdatedEvent(ImmutableSet.copyOf(indices));
+    }
+
+    public static IndexFieldTypesUpdatedEvent create(String... indices) {
+        return create(ImmutableSet.copyOf(indices));
+    }
+}
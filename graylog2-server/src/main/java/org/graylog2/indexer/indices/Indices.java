@@ -450,6 +450,10 @@ public class Indices {
         return indicesAdapter.indexRangeStatsOfIndex(index);
     }
 
+    public Map<String, List<String>> fieldValuesOfIndex(String index, Set<String> fields, int maxValues) {
+        return indicesAdapter.fieldValuesOfIndex(index, fields, maxValues);
+    }
+
     /**
      * Returns ES UUID of the index; null if it does not exist
      */
@@ -126,6 +126,12 @@ public interface IndicesAdapter {
 
     IndexRangeStats indexRangeStatsOfIndex(String index);
 
+    /**
+     * Returns the distinct values of the given fields in the index. Fields with more than {@code maxValues} distinct
+     * values are left out.
+     */
+    Map<String, List<String>> fieldValuesOfIndex(String index, Set<String> fields, int maxValues);
+
     HealthStatus waitForRecovery(String index);
     HealthStatus waitForRecovery(String index, int timeout);
 
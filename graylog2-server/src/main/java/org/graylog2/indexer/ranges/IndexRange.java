@@ -18,8 +18,10 @@ package org.graylog2.indexer.ranges;
 
 import org.joda.time.DateTime;
 
+import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 public interface IndexRange {
     String FIELD_TOOK_MS = "took_ms";
@@ -28,6 +30,8 @@ public interface IndexRange {
     String FIELD_BEGIN = "begin";
     String FIELD_INDEX_NAME = "index_name";
     String FIELD_STREAM_IDS = "stream_ids";
+    String FIELD_FIELD_VALUES = "field_values";
+    String FIELD_DOCUMENT_COUNT = "document_count";
     Comparator<IndexRange> COMPARATOR = new IndexRangeComparator();
 
     String indexName();
@@ -41,4 +45,22 @@ public interface IndexRange {
     int calculationDuration();
 
     List<String> streamIds();
+
+    /**
+     * The distinct values of the fields configured in {@code index_ranges_field_summaries} at the time the range was
+     * calculated, or {@code null} if no values have been recorded. Fields with too many distinct values are missing.
+     */
+    @Nullable
+    default Map<String, List<String>> fieldValues() {
+        return null;
+    }
+
+    /**
+     * The number of documents in the index, or {@code null} if the index could still change when the range was
+     * calculated.
+     */
+    @Nullable
+    default Long documentCount() {
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.indexer.ranges;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Immutable in-memory lookup structure for index ranges.
+ * <p>
+ * Ranges are kept sorted by their end, so the first range which ends at or after the beginning of a time range can be
+ * located with a binary search. Only the ranges from there on have to be checked for their beginning. As searches
+ * mostly target recent data, this is usually only a handful of ranges, even with a large number of indices.
+ * <p>
+ * Ranges of indices which are still being written to (begin and end are both 0) are always part of the result.
+ */
+class IndexRangeIntervalIndex {
+    private final IndexRange[] rangesByEnd;
+    private final long[] ends;
+    private final List<IndexRange> openRanges;
+
+    IndexRangeIntervalIndex(Iterable<? extends IndexRange> indexRanges) {
+        final List<IndexRange> closed = new ArrayList<>();
+        final ImmutableList.Builder<IndexRange> open = ImmutableList.builder();
+        for (IndexRange indexRange : indexRanges) {
+            if (indexRange.begin().getMillis() == 0L && indexRange.end().getMillis() == 0L) {
+                open.add(indexRange);
+            } else {
+                closed.add(indexRange);
+            }
+        }
+        closed.sort(Comparator.comparingLong(indexRange -> indexRange.end().getMillis()));
+
+        this.rangesByEnd = closed.toArray(new IndexRange[0]);
+        this.ends = new long[rangesByEnd.length];
+        for (int i = 0; i < rangesByEnd.length; i++) {
+            ends[i] = rangesByEnd[i].end().getMillis();
+        }
+        this.openRanges = open.build();
+    }
+
+    SortedSet<IndexRange> all() {
+        return ImmutableSortedSet.orderedBy(IndexRange.COMPARATOR)
+                .addAll(openRanges)
+                .add(rangesByEnd)
+                .build();
+    }
+
+    /**
+     * Returns all index ranges which overlap with the given interval (both ends inclusive).
+     */
+    SortedSet<IndexRange> find(long begin, long end) {
+        final ImmutableSortedSet.Builder<IndexRange> result = ImmutableSortedSet.orderedBy(IndexRange.COMPARATOR);
+        result.addAll(openRanges);
+        for (int i = firstEndingAtOrAfter(begin); i < rangesByEnd.length; i++) {
+            if (rangesByEnd[i].begin().getMillis() <= end) {
+                result.add(rangesByEnd[i]);
+            }
+        }
+        return result.build();
+    }
+
+    private int firstEndingAtOrAfter(long timestamp) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (ends[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -27,6 +27,7 @@ import org.mongojack.ObjectId;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Map;
 
 
 @AutoValue
@@ -75,6 +76,28 @@ public abstract class MongoIndexRange implements IndexRange {
     @Nullable
     public abstract List<String> streamIds();
 
+    @JsonProperty(FIELD_FIELD_VALUES)
+    @Override
+    @Nullable
+    public abstract Map<String, List<String>> fieldValues();
+
+    @JsonProperty(FIELD_DOCUMENT_COUNT)
+    @Override
+    @Nullable
+    public abstract Long documentCount();
+
+    public static MongoIndexRange create(String id,
+                                         String indexName,
+                                         DateTime begin,
+                                         DateTime end,
+                                         DateTime calculatedAt,
+                                         int calculationDuration,
+                                         List<String> streamIds,
+                                         Map<String, List<String>> fieldValues,
+                                         Long documentCount) {
+        return new AutoValue_MongoIndexRange(id, indexName, begin, end, calculatedAt, calculationDuration, streamIds, fieldValues, documentCount);
+    }
+
     public static MongoIndexRange create(String id,
                                          String indexName,
                                          DateTime begin,
@@ -82,7 +105,7 @@ public abstract class MongoIndexRange implements IndexRange {
                                          DateTime calculatedAt,
                                          int calculationDuration,
                                          List<String> streamIds) {
-        return new AutoValue_MongoIndexRange(id, indexName, begin, end, calculatedAt, calculationDuration, streamIds);
+        return create(id, indexName, begin, end, calculatedAt, calculationDuration, streamIds, null, null);
     }
 
     @JsonCreator
@@ -92,11 +115,24 @@ public abstract class MongoIndexRange implements IndexRange {
                                          @JsonProperty(FIELD_END) long endMillis,
                                          @JsonProperty(FIELD_CALCULATED_AT) long calculatedAtMillis,
                                          @JsonProperty(FIELD_TOOK_MS) int calculationDuration,
-                                         @JsonProperty(FIELD_STREAM_IDS) @Nullable List<String> streamIds) {
+                                         @JsonProperty(FIELD_STREAM_IDS) @Nullable List<String> streamIds,
+                                         @JsonProperty(FIELD_FIELD_VALUES) @Nullable Map<String, List<String>> fieldValues,
+                                         @JsonProperty(FIELD_DOCUMENT_COUNT) @Nullable Long documentCount) {
         final DateTime begin = new DateTime(beginMillis, DateTimeZone.UTC);
         final DateTime end = new DateTime(endMillis, DateTimeZone.UTC);
         final DateTime calculatedAt = new DateTime(calculatedAtMillis, DateTimeZone.UTC);
-        return create(id, indexName, begin, end, calculatedAt, calculationDuration, streamIds);
+        return create(id, indexName, begin, end, calculatedAt, calculationDuration, streamIds, fieldValues, documentCount);
+    }
+
+    public static MongoIndexRange create(String indexName,
+                                         DateTime begin,
+                                         DateTime end,
+                                         DateTime calculatedAt,
+                                         int calculationDuration,
+                                         List<String> streamIds,
+                                         Map<String, List<String>> fieldValues,
+                                         Long documentCount) {
+        return create(null, indexName, begin, end, calculatedAt, calculationDuration, streamIds, fieldValues, documentCount);
     }
 
     public static MongoIndexRange create(String indexName,
@@ -124,7 +160,9 @@ public abstract class MongoIndexRange implements IndexRange {
                 indexRange.end(),
                 indexRange.calculatedAt(),
                 indexRange.calculationDuration(),
-                indexRange.streamIds());
+                indexRange.streamIds(),
+                indexRange.fieldValues(),
+                indexRange.documentCount());
     }
 
     public static MongoIndexRange create(String indexName,
@@ -16,6 +16,10 @@
  */
 package org.graylog2.indexer.ranges;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedSet;
@@ -27,17 +31,21 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Updates;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.bson.conversions.Bson;
 import org.graylog2.audit.AuditActor;
 import org.graylog2.audit.AuditEventSender;
 import org.graylog2.database.MongoCollections;
 import org.graylog2.database.NotFoundException;
+import org.graylog2.events.ClusterEventBus;
 import org.graylog2.indexer.indexset.registry.IndexSetRegistry;
 import org.graylog2.indexer.indices.Indices;
+import org.graylog2.indexer.indices.TooManyAliasesException;
 import org.graylog2.indexer.indices.events.IndicesClosedEvent;
 import org.graylog2.indexer.indices.events.IndicesDeletedEvent;
 import org.graylog2.indexer.indices.events.IndicesReopenedEvent;
+import org.graylog2.indexer.ranges.events.IndexRangesUpdatedEvent;
 import org.graylog2.indexer.searches.IndexRangeStats;
 import org.graylog2.plugin.system.NodeId;
 import org.joda.time.DateTime;
@@ -45,16 +53,20 @@ import org.joda.time.DateTimeZone;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.exists;
-import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.in;
-import static com.mongodb.client.model.Filters.lte;
-import static com.mongodb.client.model.Filters.or;
 import static org.graylog2.audit.AuditEventTypes.ES_INDEX_RANGE_CREATE;
 import static org.graylog2.audit.AuditEventTypes.ES_INDEX_RANGE_DELETE;
 import static org.graylog2.indexer.indices.Indices.checkIfHealthy;
@@ -63,12 +75,28 @@ import static org.graylog2.indexer.indices.Indices.checkIfHealthy;
 public class MongoIndexRangeService implements IndexRangeService {
     private static final Logger LOG = LoggerFactory.getLogger(MongoIndexRangeService.class);
     private static final String COLLECTION_NAME = "index_ranges";
+    private static final String INTERVAL_INDEX_KEY = "intervalIndex";
+    // Expire after write to limit the staleness in case an update from another node has been missed
+    private static final Duration INTERVAL_INDEX_EXPIRY = Duration.ofSeconds(10);
+    // Updates within this period are announced to the other nodes with a single cluster event
+    private static final Duration UPDATE_EVENT_DELAY = Duration.ofSeconds(1);
 
     private final Indices indices;
     private final IndexSetRegistry indexSetRegistry;
     private final AuditEventSender auditEventSender;
     private final NodeId nodeId;
     private final MongoCollection<MongoIndexRange> collection;
+    private final ClusterEventBus clusterEventBus;
+    private final ScheduledExecutorService scheduler;
+    private final Set<String> fieldSummaries;
+    private final int fieldSummaryMaxValues;
+
+    // Node-local view of all index ranges for time range lookups. It is dropped whenever the stored ranges change,
+    // either on this node or (via cluster event) on any other node, and rebuilt on the next lookup.
+    private final LoadingCache<String, IndexRangeIntervalIndex> intervalIndex;
+
+    // Index names whose ranges changed since the last cluster event, guarded by itself
+    private final Set<String> pendingUpdatedIndices = new HashSet<>();
 
     @Inject
     public MongoIndexRangeService(MongoCollections mongoCollections,
@@ -76,12 +104,42 @@ public class MongoIndexRangeService implements IndexRangeService {
                                   IndexSetRegistry indexSetRegistry,
                                   AuditEventSender auditEventSender,
                                   NodeId nodeId,
-                                  EventBus eventBus) {
+                                  EventBus eventBus,
+                                  ClusterEventBus clusterEventBus,
+                                  @Named("daemonScheduler") ScheduledExecutorService scheduler,
+                                  @Named("index_ranges_field_summaries") Set<String> fieldSummaries,
+                                  @Named("index_ranges_field_summary_max_values") int fieldSummaryMaxValues) {
+        this(mongoCollections, indices, indexSetRegistry, auditEventSender, nodeId, eventBus, clusterEventBus, scheduler,
+                Ticker.systemTicker(), fieldSummaries, fieldSummaryMaxValues);
+    }
+
+    @VisibleForTesting
+    MongoIndexRangeService(MongoCollections mongoCollections,
+                           Indices indices,
+                           IndexSetRegistry indexSetRegistry,
+                           AuditEventSender auditEventSender,
+                           NodeId nodeId,
+                           EventBus eventBus,
+                           ClusterEventBus clusterEventBus,
+                           ScheduledExecutorService scheduler,
+                           Ticker intervalIndexTicker,
+                           Set<String> fieldSummaries,
+                           int fieldSummaryMaxValues) {
         this.indices = indices;
         this.indexSetRegistry = indexSetRegistry;
         this.auditEventSender = auditEventSender;
         this.nodeId = nodeId;
         this.collection = mongoCollections.nonEntityCollection(COLLECTION_NAME, MongoIndexRange.class);
+        this.clusterEventBus = clusterEventBus;
+        this.scheduler = scheduler;
+        this.fieldSummaries = fieldSummaries;
+        this.fieldSummaryMaxValues = fieldSummaryMaxValues;
+        // an invalidation waits for a running load, so ranges which changed while loading are never kept
+        this.intervalIndex = Caffeine.newBuilder()
+                .expireAfterWrite(INTERVAL_INDEX_EXPIRY)
+                .ticker(intervalIndexTicker)
+                // "start" has been used by the old index ranges in MongoDB
+                .build(ignored -> new IndexRangeIntervalIndex(collection.find(exists("start", false))));
 
         eventBus.register(this);
 
@@ -107,26 +165,12 @@ public class MongoIndexRangeService implements IndexRangeService {
         if (end.isBefore(begin)) {
             throw new RuntimeException("Calculation of IndexRanges error: end time (" + end + ") is earlier than begin time (" + begin + ")");
         }
-        final var query = or(
-                and(
-                        exists("start", false),  // "start" has been used by the old index ranges in MongoDB
-                        lte(IndexRange.FIELD_BEGIN, end.getMillis()),
-                        gte(IndexRange.FIELD_END, begin.getMillis())
-                ),
-                // or find current deflector indices (these have begin/end 0)
-                and(
-                        exists("start", false),  // "start" has been used by the old index ranges in MongoDB
-                        eq(IndexRange.FIELD_BEGIN, 0L),
-                        eq(IndexRange.FIELD_END, 0L)
-                )
-        );
-
-        return ImmutableSortedSet.copyOf(IndexRange.COMPARATOR, collection.find(query));
+        return intervalIndex.get(INTERVAL_INDEX_KEY).find(begin.getMillis(), end.getMillis());
     }
 
     @Override
     public SortedSet<IndexRange> findAll() {
-        return ImmutableSortedSet.copyOf(IndexRange.COMPARATOR, collection.find(exists("start", false)));
+        return intervalIndex.get(INTERVAL_INDEX_KEY).all();
     }
 
     @Override
@@ -144,7 +188,32 @@ public class MongoIndexRangeService implements IndexRangeService {
         final int duration = Ints.saturatedCast(sw.stop().elapsed(TimeUnit.MILLISECONDS));
 
         LOG.info("Calculated range of [{}] in [{}ms].", index, duration);
-        return MongoIndexRange.create(index, stats.min(), stats.max(), now, duration, stats.streamIds());
+        // the document count of an index which is still written to would be outdated right away
+        final Long documentCount = isWriteIndex(index) ? null : stats.documentCount();
+        return MongoIndexRange.create(index, stats.min(), stats.max(), now, duration, stats.streamIds(),
+                fieldValuesOfIndex(index), documentCount);
+    }
+
+    private boolean isWriteIndex(String index) {
+        try {
+            return indexSetRegistry.isCurrentWriteIndex(index);
+        } catch (TooManyAliasesException e) {
+            return true;
+        }
+    }
+
+    @Nullable
+    private Map<String, List<String>> fieldValuesOfIndex(String index) {
+        if (fieldSummaries.isEmpty()) {
+            return null;
+        }
+        try {
+            return indices.fieldValuesOfIndex(index, fieldSummaries, fieldSummaryMaxValues);
+        } catch (Exception e) {
+            // without recorded values the index is simply never skipped
+            LOG.warn("Couldn't collect values of fields {} in index <{}>.", fieldSummaries, index, e);
+            return null;
+        }
     }
 
     @Override
@@ -170,21 +239,58 @@ public class MongoIndexRangeService implements IndexRangeService {
 
     @Override
     public void save(IndexRange indexRange) {
-        remove(indexRange.indexName());
+        collection.deleteMany(in(IndexRange.FIELD_INDEX_NAME, indexRange.indexName()));
         collection.insertOne(MongoIndexRange.create(indexRange));
+        indexRangesUpdated(indexRange.indexName());
     }
 
     @Override
     public boolean renameIndex(String from, String to) {
-        return collection.updateMany(
+        final boolean renamed = collection.updateMany(
                         eq(IndexRange.FIELD_INDEX_NAME, from),
                         Updates.set(IndexRange.FIELD_INDEX_NAME, to))
                 .getMatchedCount() > 0;
+        if (renamed) {
+            indexRangesUpdated(from, to);
+        }
+        return renamed;
     }
 
     @Override
     public boolean remove(String index) {
-        return collection.deleteMany(in(IndexRange.FIELD_INDEX_NAME, index)).getDeletedCount() > 0;
+        final boolean removed = collection.deleteMany(in(IndexRange.FIELD_INDEX_NAME, index)).getDeletedCount() > 0;
+        if (removed) {
+            indexRangesUpdated(index);
+        }
+        return removed;
+    }
+
+    private void indexRangesUpdated(String... indexNames) {
+        intervalIndex.invalidate(INTERVAL_INDEX_KEY);
+        synchronized (pendingUpdatedIndices) {
+            // a rebuild of all index ranges saves thousands of ranges, which must not cause one event each
+            final boolean eventScheduled = !pendingUpdatedIndices.isEmpty();
+            pendingUpdatedIndices.addAll(List.of(indexNames));
+            if (!eventScheduled) {
+                scheduler.schedule(this::postIndexRangesUpdated, UPDATE_EVENT_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void postIndexRangesUpdated() {
+        final Set<String> updatedIndices;
+        synchronized (pendingUpdatedIndices) {
+            updatedIndices = Set.copyOf(pendingUpdatedIndices);
+            pendingUpdatedIndices.clear();
+        }
+        clusterEventBus.post(IndexRangesUpdatedEvent.create(updatedIndices));
+    }
+
+    @Subscribe
+    @AllowConcurrentEvents
+    public void handleIndexRangesUpdated(IndexRangesUpdatedEvent event) {
+        LOG.debug("Index ranges of {} have been updated. Invalidating in-memory index ranges.", event.indices());
+        intervalIndex.invalidate(INTERVAL_INDEX_KEY);
     }
 
     @Subscribe
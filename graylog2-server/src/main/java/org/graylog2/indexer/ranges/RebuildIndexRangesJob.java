@@ -24,6 +24,7 @@ import com.google.auto.value.AutoValue;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.MultimapBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.assistedinject.AssistedInject;
 import org.graylog.scheduler.JobExecutionException;
 import org.graylog.scheduler.system.SystemJob;
@@ -42,16 +43,23 @@ import org.graylog2.indexer.indexset.basic.BasicIndexSet;
 import org.graylog2.indexer.indexset.basic.ExtendedBasicIndexSets;
 import org.graylog2.indexer.indexset.registry.IndexSetRegistry;
 import org.graylog2.indexer.indices.TooManyAliasesException;
+import org.graylog2.plugin.Tools;
 import org.graylog2.shared.system.activities.Activity;
 import org.graylog2.shared.system.activities.ActivityWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,6 +68,8 @@ public class RebuildIndexRangesJob implements SystemJob<RebuildIndexRangesJob.Co
 
     private static final Logger LOG = LoggerFactory.getLogger(RebuildIndexRangesJob.class);
     private static final int MAX_CONCURRENCY = 1;
+    // Each calculation mostly waits for an aggregation in the search backend, so a few of them can run in parallel
+    private static final int RANGE_CALCULATION_PARALLELISM = 4;
 
 
     private final ActivityWriter activityWriter;
@@ -111,61 +121,129 @@ public class RebuildIndexRangesJob implements SystemJob<RebuildIndexRangesJob.Co
         }
 
         final int indicesToCalculate = indexSets.values().size();
-        final AtomicInteger indicesCalculated = new AtomicInteger(0);
+        final Progress progress = new Progress(ctx, indicesToCalculate);
+        final AtomicBoolean alreadyLocked = new AtomicBoolean(false);
 
         final Stopwatch sw = Stopwatch.createStarted();
-        for (final BasicIndexSet indexSet : indexSets.keySet()) {
-            LOG.info("Recalculating index ranges for index set {} ({}): {} indices affected.",
-                    indexSet.title(),
-                    indexSet.getIndexWildcard(),
-                    indexSets.get(indexSet).size());
+        final ExecutorService executor = Executors.newFixedThreadPool(RANGE_CALCULATION_PARALLELISM,
+                new ThreadFactoryBuilder().setNameFormat("rebuild-index-ranges-%d").setDaemon(true).build());
+        try {
+            final List<Future<?>> calculations = new ArrayList<>(indicesToCalculate);
+            for (final BasicIndexSet indexSet : indexSets.keySet()) {
+                LOG.info("Recalculating index ranges for index set {} ({}): {} indices affected.",
+                        indexSet.title(),
+                        indexSet.getIndexWildcard(),
+                        indexSets.get(indexSet).size());
+
+                for (final var indexInfo : indexSets.get(indexSet)) {
+                    calculations.add(executor.submit(() -> rebuildIndexRange(indexInfo, ctx, progress, alreadyLocked)));
+                }
+            }
+            // a failing index must not abort the calculations of the other indices which are still running
+            Throwable failure = null;
+            for (final Future<?> calculation : calculations) {
+                try {
+                    calculation.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+            if (alreadyLocked.get()) {
+                // the retry recalculates all indices, including the ones which failed this time
+                if (failure != null) {
+                    LOG.warn("Error while recalculating index ranges, retrying.", failure);
+                }
+                return SystemJobResult.withRetry(Duration.ofSeconds(5), Integer.MAX_VALUE);
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Error while recalculating index ranges.", failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recalculating index ranges.", e);
+        } finally {
+            executor.shutdownNow();
+        }
 
-            for (final var indexInfo : indexSets.get(indexSet)) {
-                final var index = indexInfo.name();
+        if (ctx.isCancelled()) {
+            info("Stop requested. Not calculating remaining index ranges.");
+            return SystemJobResult.success();
+        }
 
-                try (var lockService = lockServiceFactory.create()) {
-                    lockService.acquireAndKeepLock(ClusterLockResources.indexRangeRecalculation(index), UUID.randomUUID().toString());
+        info("Done calculating index ranges for " + indicesToCalculate + " indices. Took " + sw.stop().elapsed(TimeUnit.MILLISECONDS) + "ms.");
 
+        return SystemJobResult.success();
+    }
+
+    private void rebuildIndexRange(IndexInfo indexInfo, SystemJobContext ctx, Progress progress, AtomicBoolean alreadyLocked) {
+        // The job gets retried as a whole if another recalculation is still running, so there is no point in going on
+        if (ctx.isCancelled() || alreadyLocked.get()) {
+            return;
+        }
+
+        final var index = indexInfo.name();
+        try (var lockService = lockServiceFactory.create()) {
+            lockService.acquireAndKeepLock(ClusterLockResources.indexRangeRecalculation(index), UUID.randomUUID().toString());
+
+            try {
+                if (indexInfo.isActiveWriteIndex()) {
+                    LOG.debug("{} is current write target, do not calculate index range for it", index);
+                    final IndexRange emptyRange = indexRangeService.createUnknownRange(index);
                     try {
-                        if (indexInfo.isActiveWriteIndex()) {
-                            LOG.debug("{} is current write target, do not calculate index range for it", index);
-                            final IndexRange emptyRange = indexRangeService.createUnknownRange(index);
-                            try {
-                                final IndexRange indexRange = indexRangeService.get(index);
-                                if (indexRange.begin().getMillis() != 0 || indexRange.end().getMillis() != 0) {
-                                    LOG.info("Invalid date ranges for write index {}, resetting it.", index);
-                                    indexRangeService.save(emptyRange);
-                                }
-                            } catch (NotFoundException e) {
-                                LOG.info("No index range found for write index {}, recreating it.", index);
-                                indexRangeService.save(emptyRange);
-                            }
-
-                            ctx.updateProgress(indicesToCalculate, indicesCalculated.incrementAndGet());
-                            continue;
+                        final IndexRange indexRange = indexRangeService.get(index);
+                        if (indexRange.begin().getMillis() != 0 || indexRange.end().getMillis() != 0) {
+                            LOG.info("Invalid date ranges for write index {}, resetting it.", index);
+                            indexRangeService.save(emptyRange);
                         }
-                    } catch (TooManyAliasesException e) {
-                        LOG.error("Multiple write alias targets found, this is a bug.");
-                        ctx.updateProgress(indicesToCalculate, indicesCalculated.incrementAndGet());
-                        continue;
-                    }
-                    if (ctx.isCancelled()) {
-                        info("Stop requested. Not calculating next index range, not updating ranges.");
-                        return SystemJobResult.success();
+                    } catch (NotFoundException e) {
+                        LOG.info("No index range found for write index {}, recreating it.", index);
+                        indexRangeService.save(emptyRange);
                     }
 
-                    indexRangeService.calculateRangeAndSave(index);
-                    ctx.updateProgress(indicesToCalculate, indicesCalculated.incrementAndGet());
-                } catch (AlreadyLockedException e) {
-                    LOG.debug("Recalculation for index <{}> already running, scheduling retry.", index);
-                    return SystemJobResult.withRetry(Duration.ofSeconds(5), Integer.MAX_VALUE);
+                    progress.indexCalculated();
+                    return;
                 }
+            } catch (TooManyAliasesException e) {
+                LOG.error("Multiple write alias targets found, this is a bug.");
+                progress.indexCalculated();
+                return;
             }
+
+            indexRangeService.calculateRangeAndSave(index);
+            progress.indexCalculated();
+        } catch (AlreadyLockedException e) {
+            LOG.debug("Recalculation for index <{}> already running, scheduling retry.", index);
+            alreadyLocked.set(true);
         }
+    }
 
-        info("Done calculating index ranges for " + indicesToCalculate + " indices. Took " + sw.stop().elapsed(TimeUnit.MILLISECONDS) + "ms.");
+    /**
+     * Reports the progress to the job context. Every update is a database write, so it is only reported when the
+     * percentage changes.
+     */
+    private static class Progress {
+        private final SystemJobContext ctx;
+        private final int indicesToCalculate;
+        private int indicesCalculated = 0;
+        private int reportedPercentage = -1;
+
+        Progress(SystemJobContext ctx, int indicesToCalculate) {
+            this.ctx = ctx;
+            this.indicesToCalculate = indicesToCalculate;
+        }
 
-        return SystemJobResult.success();
+        synchronized void indexCalculated() {
+            indicesCalculated++;
+            final int percentage = Tools.percentageOfRounded(indicesToCalculate, indicesCalculated);
+            if (percentage != reportedPercentage) {
+                reportedPercentage = percentage;
+                ctx.updateProgress(indicesToCalculate, indicesCalculated);
+            }
+        }
     }
 
     private record IndexInfo(String name, boolean isActiveWriteIndex) {}
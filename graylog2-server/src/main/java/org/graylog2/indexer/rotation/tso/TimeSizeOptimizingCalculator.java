@@ -27,14 +27,17 @@ import org.graylog2.indexer.indexset.IndexSetConfig;
 import org.graylog2.indexer.indices.Indices;
 import org.graylog2.indexer.retention.strategies.NoopRetentionStrategyConfig;
 import org.graylog2.indexer.rotation.common.IndexRotator;
+import org.graylog2.periodical.IndexRotationThread;
 import org.graylog2.system.stats.elasticsearch.NodeOSInfo;
 import org.joda.time.DateTime;
 import org.joda.time.Period;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -48,12 +51,16 @@ public class TimeSizeOptimizingCalculator {
     private static final long MIN_SHARD_SIZE_BYTES = Size.gigabytes(5).toBytes();
     // The data_hot role is only used for Elasticsearch nodes
     private static final Set<String> DATA_NODE_ROLES = Set.of("data", "data_hot");
+    private static final Duration ROTATION_CHECK_INTERVAL = Duration.ofSeconds(IndexRotationThread.PERIOD_SECONDS);
     private final Indices indices;
     private final JobSchedulerClock clock;
     private final ElasticsearchConfiguration opensearchConfig;
     private final ClusterAdapter clusterAdapter;
     private final Supplier<Optional<Long>> dataNodeMinOsMemorySupplier =
             Suppliers.memoizeWithExpiration(this::computeDataNodeMinOsMemorySizeInBytes, 1, TimeUnit.MINUTES);
+    // The size of the write index of each index set (by index prefix) seen by the previous check, used to estimate how
+    // fast it grows. Only the latest index of an index set is kept, so entries of rotated indices don't pile up.
+    private final Map<String, SizeSample> previousSizes = new ConcurrentHashMap<>();
 
     @Inject
     public TimeSizeOptimizingCalculator(Indices indices,
@@ -79,19 +86,44 @@ public class TimeSizeOptimizingCalculator {
         if (config.dataTieringConfig() != null || !(config.retentionStrategyConfig() instanceof NoopRetentionStrategyConfig)) {
             Period leeWay = indexLifetimeConfig.indexLifetimeMax().minus(indexLifetimeConfig.indexLifetimeMin());
             if (indexExceedsLeeWay(creationDate, leeWay)) {
+                previousSizes.remove(config.indexPrefix());
                 return createResult(true,
                         f("Index creation date <%s> exceeds optimization leeway <%s>", creationDate, leeWay));
             }
         }
 
-        if (useDynamicShardSizing()) {
-            return calculateResultWithDynamicShardSize(config, sizeInBytes);
-        } else {
-            return calculateResultUsingMinMaxShardSize(config, sizeInBytes, creationDate);
+        final IndexSize indexSize = new IndexSize(sizeInBytes, projectedSizeInBytes(config.indexPrefix(), index, sizeInBytes));
+        final IndexRotator.Result result = useDynamicShardSizing()
+                ? calculateResultWithDynamicShardSize(config, indexSize)
+                : calculateResultUsingMinMaxShardSize(config, indexSize, creationDate);
+        if (result.shouldRotate()) {
+            previousSizes.remove(config.indexPrefix());
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the size of the index at the next rotation check, based on how much it has grown since the previous
+     * one. Rotating an index once its projected size exceeds the maximum keeps it from overshooting the maximum until
+     * the next check, which would otherwise happen for index sets with a high ingest rate.
+     */
+    private long projectedSizeInBytes(String indexPrefix, String index, long sizeInBytes) {
+        final Instant now = clock.instantNow();
+        final SizeSample previous = previousSizes.put(indexPrefix, new SizeSample(index, now, sizeInBytes));
+        // The index set has been rotated in the meantime (e.g. manually), so the previous size is of no use
+        if (previous == null || !previous.index().equals(index)) {
+            return sizeInBytes;
+        }
+        final long elapsedMillis = Duration.between(previous.time(), now).toMillis();
+        final long growthInBytes = sizeInBytes - previous.sizeInBytes();
+        // Merges can shrink an index, in that case we don't know better than the current size
+        if (elapsedMillis <= 0 || growthInBytes <= 0) {
+            return sizeInBytes;
         }
+        return sizeInBytes + (long) ((double) growthInBytes / elapsedMillis * ROTATION_CHECK_INTERVAL.toMillis());
     }
 
-    private IndexRotator.Result calculateResultWithDynamicShardSize(IndexSetConfig config, Long sizeInBytes) {
+    private IndexRotator.Result calculateResultWithDynamicShardSize(IndexSetConfig config, IndexSize indexSize) {
         Optional<Long> dataNodeMinOSMemorySizeInBytes = dataNodeMinOSMemorySizeInBytes();
         String additionalResultText;
         long maxShardSize;
@@ -114,22 +146,22 @@ public class TimeSizeOptimizingCalculator {
         }
 
         long maxIndexSize = maxShardSize * config.shards();
-        if (sizeInBytes > maxIndexSize) {
+        if (indexSize.projected() > maxIndexSize) {
             return createResult(true, f("Index size <%s> exceeds maximum size <%s> (shards: %s). %s",
-                    humanReadableByteCount(sizeInBytes), humanReadableByteCount(maxIndexSize), config.shards(), additionalResultText));
+                    indexSize, humanReadableByteCount(maxIndexSize), config.shards(), additionalResultText));
         }
         return notRotateResult();
     }
 
-    private IndexRotator.Result calculateResultUsingMinMaxShardSize(IndexSetConfig config, Long sizeInBytes, DateTime creationDate) {
+    private IndexRotator.Result calculateResultUsingMinMaxShardSize(IndexSetConfig config, IndexSize indexSize, DateTime creationDate) {
         long maxIndexSize = opensearchConfig.getTimeSizeOptimizingRotationMaxShardSize().toBytes() * config.shards();
-        if (sizeInBytes > maxIndexSize) {
+        if (indexSize.projected() > maxIndexSize) {
             return createResult(true,
                     f("Index size <%s> exceeds maximum size <%s>",
-                            humanReadableByteCount(sizeInBytes), humanReadableByteCount(maxIndexSize)));
+                            indexSize, humanReadableByteCount(maxIndexSize)));
         }
         final long minIndexSize = opensearchConfig.getTimeSizeOptimizingRotationMinShardSize().toBytes() * config.shards();
-        if (indexIsOldEnough(creationDate) && sizeInBytes >= minIndexSize) {
+        if (indexIsOldEnough(creationDate) && indexSize.current() >= minIndexSize) {
             return createResult(true,
                     f("Index creation date <%s> has passed rotation period <%s> and has a reasonable size <%s> for rotation",
                             creationDate, opensearchConfig.getTimeSizeOptimizingRotationPeriod(), humanReadableByteCount(minIndexSize)));
@@ -175,4 +207,17 @@ public class TimeSizeOptimizingCalculator {
     private boolean indexExceedsLeeWay(DateTime creationDate, Period leeWay) {
         return timePassedIsBeyondLimit(creationDate, leeWay);
     }
+
+    private record SizeSample(String index, Instant time, long sizeInBytes) {}
+
+    private record IndexSize(long current, long projected) {
+        @Override
+        public String toString() {
+            if (projected > current) {
+                return f("%s, projected to reach %s before the next check",
+                        humanReadableByteCount(current), humanReadableByteCount(projected));
+            }
+            return humanReadableByteCount(current);
+        }
+    }
 }
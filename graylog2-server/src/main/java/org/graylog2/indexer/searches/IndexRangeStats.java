@@ -26,7 +26,7 @@ import java.util.List;
 
 @AutoValue
 public abstract class IndexRangeStats {
-    public static final IndexRangeStats EMPTY = create(new DateTime(0L, DateTimeZone.UTC), new DateTime(0L, DateTimeZone.UTC), Collections.emptyList());
+    public static final IndexRangeStats EMPTY = create(new DateTime(0L, DateTimeZone.UTC), new DateTime(0L, DateTimeZone.UTC), Collections.emptyList(), 0L);
 
     public abstract DateTime min();
 
@@ -35,8 +35,15 @@ public abstract class IndexRangeStats {
     @Nullable
     public abstract List<String> streamIds();
 
+    @Nullable
+    public abstract Long documentCount();
+
+    public static IndexRangeStats create(DateTime min, DateTime max, @Nullable List<String> streamIds, @Nullable Long documentCount) {
+        return new AutoValue_IndexRangeStats(min, max, streamIds, documentCount);
+    }
+
     public static IndexRangeStats create(DateTime min, DateTime max, @Nullable List<String> streamIds) {
-        return new AutoValue_IndexRangeStats(min, max, streamIds);
+        return create(min, max, streamIds, null);
     }
 
     public static IndexRangeStats create(DateTime min, DateTime max) {
@@ -29,11 +29,14 @@ import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 import jakarta.inject.Named;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.InvalidOffsetException;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.AuthorizationException;
 import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
@@ -71,7 +74,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
@@ -106,6 +113,7 @@ public class KafkaTransport extends ThrottleableTransport {
 
     private static final String DEFAULT_OFFSET_RESET = "largest";
     private static final String DEFAULT_GROUP_ID = "myapp-consumer-group";
+    private static final Duration COMMIT_TIMEOUT = Duration.ofSeconds(5);
 
     private static final Logger LOG = LoggerFactory.getLogger(KafkaTransport.class);
 
@@ -231,9 +239,10 @@ public class KafkaTransport extends ThrottleableTransport {
         // Map largest -> latest, smallest -> earliest
         final String resetValue = configuration.getString(CK_OFFSET_RESET, DEFAULT_OFFSET_RESET);
         props.put("auto.offset.reset", resetValue.equals("largest") ? "latest" : "earliest");
-        // Default auto commit interval is 60 seconds. Reduce to 1 second to minimize message duplication
-        // if something breaks.
-        props.put("auto.commit.interval.ms", "1000");
+        // Offsets are committed by the consumer runnables once the records have been handed off to the input.
+        // Auto commit would commit the consumer position instead, which includes records that have been polled
+        // but not processed yet when the input is stopped or the partitions get revoked.
+        props.put("enable.auto.commit", "false");
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
         props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
 
@@ -245,39 +254,99 @@ public class KafkaTransport extends ThrottleableTransport {
         // this is to avoid yanking away the connection from the consumer runnables
         stopLatch = new CountDownLatch(numThreads);
 
-        IntStream.range(0, numThreads).forEach(i -> executor.submit(new ConsumerRunnable(props, input, i)));
+        final CountDownLatch consumersStopped = stopLatch;
+        IntStream.range(0, numThreads).forEach(i -> {
+            final Properties nprops = (Properties) props.clone();
+            nprops.put("client.id", "gl2-" + nodeId.getShortNodeId() + "-" + input.getId() + "-" + i);
+            executor.submit(new ConsumerRunnable(new KafkaConsumer<>(nprops), input, consumersStopped));
+        });
     }
 
-    private class ConsumerRunnable implements Runnable {
+    class ConsumerRunnable implements Runnable, ConsumerRebalanceListener {
         private final MessageInput input;
-        private final KafkaConsumer<byte[], byte[]> consumer;
-
-        public ConsumerRunnable(Properties props, MessageInput input, int threadId) {
+        private final org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> consumer;
+        private final CountDownLatch consumersStopped;
+        // The next offset to commit for every assigned partition, only covers records that have been handed off to
+        // the input. Entries are kept after committing, so they can be committed synchronously on revocation.
+        private final Map<TopicPartition, OffsetAndMetadata> processedOffsets = new HashMap<>();
+        private boolean hasUncommittedOffsets = false;
+
+        ConsumerRunnable(org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> consumer,
+                         MessageInput input,
+                         CountDownLatch consumersStopped) {
             this.input = input;
-            final Properties nprops = (Properties) props.clone();
-            nprops.put("client.id", "gl2-" + nodeId.getShortNodeId() + "-" + input.getId() + "-" + threadId);
-            consumer = new KafkaConsumer<>(nprops);
+            this.consumer = consumer;
+            this.consumersStopped = consumersStopped;
             //noinspection ConstantConditions
-            consumer.subscribe(Pattern.compile(configuration.getString(CK_TOPIC_FILTER)));
+            consumer.subscribe(Pattern.compile(configuration.getString(CK_TOPIC_FILTER)), this);
         }
 
-        private void consumeRecords(ConsumerRecords<byte[], byte[]> consumerRecords) {
-            for (final ConsumerRecord<byte[], byte[]> record : consumerRecords) {
-                if (paused) {
-                    // we try not to spin here, so we wait until the lifecycle goes back to running.
-                    LOG.debug("Message processing is paused, blocking until message processing is turned back on.");
-                    Uninterruptibles.awaitUninterruptibly(pausedLatch);
-                }
-                // check for being stopped before actually getting the message, otherwise we could end up losing that message
-                if (stopped) {
-                    break;
-                }
-                if (isThrottled()) {
-                    blockUntilUnthrottled();
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            // Called from within poll() on this thread. An asynchronous commit of these offsets might still be in
+            // flight or might have failed, so commit them synchronously before the partitions are handed over.
+            final Map<TopicPartition, OffsetAndMetadata> revokedOffsets = new HashMap<>();
+            for (final TopicPartition partition : partitions) {
+                final OffsetAndMetadata offset = processedOffsets.remove(partition);
+                if (offset != null) {
+                    revokedOffsets.put(partition, offset);
                 }
+            }
+            commitSync(revokedOffsets);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            LOG.debug("Assigned partitions {} to consumer of input {}", partitions, input.getId());
+        }
+
+        private void commitProcessedOffsetsAsync() {
+            if (!hasUncommittedOffsets) {
+                return;
+            }
+            hasUncommittedOffsets = false;
+            final Map<TopicPartition, OffsetAndMetadata> offsets = Map.copyOf(processedOffsets);
+            try {
+                consumer.commitAsync(offsets, (committed, e) -> {
+                    if (e != null) {
+                        LOG.warn("Unable to commit offsets {} for input {}", committed, input.getId(), e);
+                    }
+                });
+            } catch (KafkaException e) {
+                LOG.warn("Unable to commit offsets {} for input {}", offsets, input.getId(), e);
+            }
+        }
+
+        private void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+            if (offsets.isEmpty()) {
+                return;
+            }
+            try {
+                consumer.commitSync(offsets, COMMIT_TIMEOUT);
+            } catch (KafkaException e) {
+                LOG.warn("Unable to commit offsets {} for input {}", offsets, input.getId(), e);
+            }
+        }
 
-                // process the message, this will immediately mark the message as having been processed. this gets tricky
-                // if we get an exception about processing it down below.
+        private void consumeRecords(ConsumerRecords<byte[], byte[]> consumerRecords) {
+            if (consumerRecords.isEmpty()) {
+                return;
+            }
+            if (paused) {
+                // we try not to spin here, so we wait until the lifecycle goes back to running.
+                LOG.debug("Message processing is paused, blocking until message processing is turned back on.");
+                Uninterruptibles.awaitUninterruptibly(pausedLatch);
+            }
+            // check for being stopped before handing off the records, otherwise we could end up losing them
+            if (stopped) {
+                return;
+            }
+            if (isThrottled()) {
+                blockUntilUnthrottled();
+            }
+
+            final List<RawMessage> rawMessages = new ArrayList<>(consumerRecords.count());
+            for (final ConsumerRecord<byte[], byte[]> record : consumerRecords) {
                 final byte[] bytes = record.value();
 
                 // it is possible that the message is null
@@ -287,9 +356,17 @@ public class KafkaTransport extends ThrottleableTransport {
                 totalBytesRead.addAndGet(bytes.length);
                 lastSecBytesReadTmp.addAndGet(bytes.length);
 
-                final RawMessage rawMessage = new RawMessage(bytes);
-                input.processRawMessage(rawMessage);
+                rawMessages.add(new RawMessage(bytes));
+            }
+            // hand off the whole poll batch at once instead of claiming an input buffer slot per record
+            input.processRawMessages(rawMessages);
+
+            for (final TopicPartition partition : consumerRecords.partitions()) {
+                final List<ConsumerRecord<byte[], byte[]>> partitionRecords = consumerRecords.records(partition);
+                final long lastOffset = partitionRecords.get(partitionRecords.size() - 1).offset();
+                processedOffsets.put(partition, new OffsetAndMetadata(lastOffset + 1));
             }
+            hasUncommittedOffsets = true;
         }
 
         private Optional<ConsumerRecords<byte[], byte[]>> tryPoll() {
@@ -323,16 +400,17 @@ public class KafkaTransport extends ThrottleableTransport {
                 }
                 try {
                     consumeRecords(consumerRecords.get());
+                    commitProcessedOffsetsAsync();
                 } catch (Exception e) {
                     LOG.error("Exception in consumer thread. Stopping input", e);
                     stopped = true;
                     break;
                 }
             }
-            // explicitly commit our offsets when stopping.
-            // this might trigger a couple of times, but it won't hurt
-            consumer.commitAsync();
-            stopLatch.countDown();
+            // explicitly commit the offsets of all records that have been handed off when stopping.
+            // records which have been polled but not processed will be consumed again after a restart.
+            commitSync(Map.copyOf(processedOffsets));
+            consumersStopped.countDown();
             consumer.close(Duration.ofSeconds(5));
         }
     }
@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
@@ -45,29 +46,42 @@ import java.util.function.Consumer;
  * <p>
  * To avoid bulk requests that get too big, we reserve one buffer slot per message and index set.
  * The trade-off is that outputs which don't create one message per index set will write smaller batches.
+ * <p>
+ * The buffer is split into stripes, one per output buffer processor. Each thread appends to its own stripe, so the
+ * processors don't contend for a single lock. The configured batch size limits the total of all stripes, and every
+ * flush merges the stripes into a single batch.
  */
 public class IndexSetAwareMessageOutputBuffer {
     private final int maxBufferSizeCount;
     private final long maxBufferSizeBytes;
     private final ObjectMapper objectMapper;
 
-    private volatile List<FilteredMessage> buffer;
-    private volatile int bufferLength = 0;
-    private volatile long bufferSizeBytes = 0L;
+    private final Stripe[] stripes;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final ThreadLocal<Stripe> threadStripe;
+    private final AtomicLong bufferLength = new AtomicLong();
+    private final AtomicLong bufferSizeBytes = new AtomicLong();
     private final AtomicLong lastFlushTime = new AtomicLong();
 
     /**
      * Creates a new buffer with the given size.
      *
      * @param maxBufferSize the maximum buffer size
+     * @param stripeCount   the number of stripes, usually the number of threads appending to the buffer
      */
     @Inject
     public IndexSetAwareMessageOutputBuffer(@Named("output_batch_size") BatchSizeConfig maxBufferSize,
+                                            @Named("outputbuffer_processors") int stripeCount,
                                             ObjectMapper objectMapper) {
 
         this.maxBufferSizeCount = maxBufferSize.getAsCount().orElse(0);
         this.maxBufferSizeBytes = maxBufferSize.getAsBytes().map(Size::toBytes).orElse(0L);
-        this.buffer = new ArrayList<>(maxBufferSize.getAsCount().orElse(500));
+        this.stripes = new Stripe[Math.max(stripeCount, 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        // Threads are assigned to stripes in turns, so that a fixed set of processor threads is spread evenly
+        this.threadStripe = ThreadLocal.withInitial(() -> stripes[Math.floorMod(nextStripe.getAndIncrement(), stripes.length)]);
 
         this.objectMapper = objectMapper;
     }
@@ -87,8 +101,9 @@ public class IndexSetAwareMessageOutputBuffer {
     }
 
     /**
-     * Appends the given message to the buffer. If the buffer length has reached the configured max buffer size,
-     * the given flush consumer is called with the contents of the buffer and the buffer is reset.
+     * Appends the given message to the buffer stripe of the calling thread. If the buffer length has reached the
+     * configured max buffer size, the given flush consumer is called with the contents of all stripes and the buffer
+     * is reset.
      * The consumer is responsible for handling the buffer content.
      * <p>
      * This method is thread-safe.
@@ -97,41 +112,34 @@ public class IndexSetAwareMessageOutputBuffer {
      * @param flusher         the buffer flush consumer
      */
     public void appendAndFlush(FilteredMessage filteredMessage, Consumer<List<FilteredMessage>> flusher) {
-        List<FilteredMessage> flushBatch = null;
-
         // for optimization, only calculate batch size in bytes, if we are actually restricting by size in bytes
         long estimatedSize = 0L;
         if (maxBufferSizeBytes != 0L) {
             estimatedSize = estimateOsBulkRequestSize(filteredMessage.message(), objectMapper);
         }
 
-        synchronized (this) {
-            // See class the class documentation for the reasoning behind the bufferLength calculation.
-            buffer.add(filteredMessage);
-            bufferLength += Math.max(filteredMessage.message().getIndexSets().size(), 1);
-            if (estimatedSize > 0L) {
-                bufferSizeBytes += estimatedSize;
-            }
+        threadStripe.get().append(filteredMessage, estimatedSize);
+        if (!isFull()) {
+            return;
+        }
 
-            if ((maxBufferSizeBytes != 0L && bufferSizeBytes >= maxBufferSizeBytes) ||
-                    maxBufferSizeCount != 0 && bufferLength >= maxBufferSizeCount) {
-                flushBatch = buffer;
-                buffer = new ArrayList<>(bufferLength);
-                bufferLength = 0;
-                bufferSizeBytes = 0L;
+        final List<FilteredMessage> flushBatch;
+        synchronized (this) {
+            // Another thread might have flushed the buffer in the meantime
+            if (!isFull()) {
+                return;
             }
+            flushBatch = drainStripes();
         }
+
         // if the current thread found it had to flush any messages, it does so but blocks.
         // this ensures we don't flush more than 'processorCount' in parallel.
-        // TODO this will still be time limited by the OutputBufferProcessor and thus be called more often than it should
-        if (flushBatch != null) {
-            lastFlushTime.set(System.nanoTime());
-            flusher.accept(flushBatch);
-        }
+        lastFlushTime.set(System.nanoTime());
+        flusher.accept(flushBatch);
     }
 
     /**
-     * Calls the given flush consumer with the contents of the buffer and the buffer is reset. The consumer is
+     * Calls the given flush consumer with the contents of all buffer stripes and the buffer is reset. The consumer is
      * responsible for handling the buffer content.
      * <p>
      * This method is thread-safe.
@@ -141,14 +149,51 @@ public class IndexSetAwareMessageOutputBuffer {
     public void flush(Consumer<List<FilteredMessage>> flusher) {
         final List<FilteredMessage> flushBatch;
         synchronized (this) {
-            flushBatch = buffer;
-            buffer = new ArrayList<>(bufferLength);
-            bufferLength = 0;
-            bufferSizeBytes = 0L;
+            flushBatch = drainStripes();
         }
-        if (flushBatch != null) {
-            lastFlushTime.set(System.nanoTime());
-            flusher.accept(flushBatch);
+        lastFlushTime.set(System.nanoTime());
+        flusher.accept(flushBatch);
+    }
+
+    private boolean isFull() {
+        return (maxBufferSizeBytes != 0L && bufferSizeBytes.get() >= maxBufferSizeBytes) ||
+                (maxBufferSizeCount != 0 && bufferLength.get() >= maxBufferSizeCount);
+    }
+
+    private List<FilteredMessage> drainStripes() {
+        final List<FilteredMessage> flushBatch = new ArrayList<>((int) Math.min(bufferLength.get(), Integer.MAX_VALUE));
+        for (Stripe stripe : stripes) {
+            stripe.drainTo(flushBatch);
+        }
+        return flushBatch;
+    }
+
+    private class Stripe {
+        private final List<FilteredMessage> buffer = new ArrayList<>();
+        private int stripeLength = 0;
+        private long stripeSizeBytes = 0L;
+
+        // The totals of the buffer are updated while holding the stripe lock, so that they always match the
+        // stripe contents a concurrent drain sees.
+        synchronized void append(FilteredMessage filteredMessage, long estimatedSize) {
+            // See class the class documentation for the reasoning behind the bufferLength calculation.
+            final int length = Math.max(filteredMessage.message().getIndexSets().size(), 1);
+            buffer.add(filteredMessage);
+            stripeLength += length;
+            bufferLength.addAndGet(length);
+            if (estimatedSize > 0L) {
+                stripeSizeBytes += estimatedSize;
+                bufferSizeBytes.addAndGet(estimatedSize);
+            }
+        }
+
+        synchronized void drainTo(List<FilteredMessage> flushBatch) {
+            flushBatch.addAll(buffer);
+            buffer.clear();
+            bufferLength.addAndGet(-stripeLength);
+            bufferSizeBytes.addAndGet(-stripeSizeBytes);
+            stripeLength = 0;
+            stripeSizeBytes = 0L;
         }
     }
 
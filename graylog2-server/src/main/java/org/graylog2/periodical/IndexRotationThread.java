@@ -41,6 +41,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 
 public class IndexRotationThread extends Periodical {
+    // The interval in which the index sets are checked for rotation
+    public static final int PERIOD_SECONDS = 10;
+
     private static final Logger LOG = LoggerFactory.getLogger(IndexRotationThread.class);
     private final IndexSetRegistry indexSetRegistry;
     private final Cluster cluster;
@@ -226,7 +229,7 @@ public class IndexRotationThread extends Periodical {
 
     @Override
     public int getPeriodSeconds() {
-        return 10;
+        return PERIOD_SECONDS;
     }
 
 }
@@ -22,6 +22,7 @@ import com.github.joschi.jadconfig.util.Size;
 import com.google.common.eventbus.EventBus;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import org.graylog2.buffers.OutputBuffer;
 import org.graylog2.notifications.Notification;
 import org.graylog2.notifications.NotificationService;
 import org.graylog2.plugin.GlobalMetricNames;
@@ -37,7 +38,7 @@ import org.slf4j.LoggerFactory;
 import static org.graylog2.shared.metrics.MetricUtils.safelyRegister;
 
 /**
- * The ThrottleStateUpdater publishes the current state buffer state of the journal to other interested parties,
+ * The ThrottleStateUpdater publishes the current state of the journal and the process and output buffers to other interested parties,
  * chiefly the ThrottleableTransports.
  * <p/>
  * <p>
@@ -53,6 +54,7 @@ public class ThrottleStateUpdaterThread extends Periodical {
     private static final Logger log = LoggerFactory.getLogger(ThrottleStateUpdaterThread.class);
     private final LocalKafkaJournal journal;
     private final ProcessBuffer processBuffer;
+    private final OutputBuffer outputBuffer;
     private final EventBus eventBus;
     private final Size retentionSize;
     private final NotificationService notificationService;
@@ -67,12 +69,14 @@ public class ThrottleStateUpdaterThread extends Periodical {
     @Inject
     public ThrottleStateUpdaterThread(final Journal journal,
                                       ProcessBuffer processBuffer,
+                                      OutputBuffer outputBuffer,
                                       EventBus eventBus,
                                       NotificationService notificationService,
                                       ServerStatus serverStatus,
                                       MetricRegistry metricRegistry,
                                       @Named("message_journal_max_size") Size retentionSize) {
         this.processBuffer = processBuffer;
+        this.outputBuffer = outputBuffer;
         this.eventBus = eventBus;
         this.retentionSize = retentionSize;
         this.notificationService = notificationService;
@@ -177,6 +181,7 @@ public class ThrottleStateUpdaterThread extends Periodical {
         throttleState.journalSizeLimit = retentionSize.toBytes();
 
         throttleState.processBufferCapacity = processBuffer.getRemainingCapacity();
+        throttleState.outputBufferCapacity = outputBuffer.getRemainingCapacity();
 
         if (committedOffset == LocalKafkaJournal.DEFAULT_COMMITTED_OFFSET) {
             // nothing committed at all, the entire log is uncommitted, or completely empty.
@@ -126,25 +126,27 @@ public class ThroughputCalculator extends Periodical {
             if (counterSample == null) {
                 counterSample = new CounterSample();
                 sampledCounters.put(metricName, counterSample);
+                // Registering the rate gauge together with the sample avoids checking the registry for it on every
+                // run. (MetricRegistry#getMetrics() copies the whole registry.)
+                registerRateGauge(metricName);
             }
             counterSample.updateAverage(value.getCount());
-            final String rateName = name(metricName, GlobalMetricNames.RATE_SUFFIX);
-            if (!metricRegistry.getMetrics().containsKey(rateName)) {
-                try {
-                    log.debug("Registering derived, per-second metric {}", rateName);
-                    metricRegistry.register(rateName, new Gauge<Double>() {
-                        @Override
-                        public Double getValue() {
-                            final CounterSample sample = sampledCounters.get(metricName);
-                            return sample == null ? 0d : sample.getCurrentAverage();
-                        }
-                    });
-                } catch (IllegalArgumentException e) {
-                    log.warn(
-                            "Could not register gauge {} despite checking before that it didn't exist. This should not happen.",
-                            rateName);
+        }
+    }
+
+    private void registerRateGauge(String metricName) {
+        final String rateName = name(metricName, GlobalMetricNames.RATE_SUFFIX);
+        log.debug("Registering derived, per-second metric {}", rateName);
+        try {
+            metricRegistry.register(rateName, new Gauge<Double>() {
+                @Override
+                public Double getValue() {
+                    final CounterSample sample = sampledCounters.get(metricName);
+                    return sample == null ? 0d : sample.getCurrentAverage();
                 }
-            }
+            });
+        } catch (IllegalArgumentException e) {
+            log.debug("Derived, per-second metric {} has already been registered.", rateName);
         }
     }
 
@@ -25,6 +25,7 @@ public class ThrottleState {
     public long journalSizeLimit;
     public long readEventsPerSec;
     public long processBufferCapacity;
+    public long outputBufferCapacity;
 
     public ThrottleState() {
     }
@@ -36,6 +37,7 @@ public class ThrottleState {
         this.journalSizeLimit = o.journalSizeLimit;
         this.readEventsPerSec = o.readEventsPerSec;
         this.processBufferCapacity = o.processBufferCapacity;
+        this.outputBufferCapacity = o.outputBufferCapacity;
     }
 
     @Override
@@ -48,6 +50,7 @@ public class ThrottleState {
                 .add("journalSize", journalSize)
                 .add("journalSizeLimit", journalSizeLimit)
                 .add("pbCapacity", processBufferCapacity)
+                .add("obCapacity", outputBufferCapacity)
                 .toString();
     }
 }
@@ -18,6 +18,18 @@ package org.graylog2.plugin.buffers;
 
 import org.graylog2.plugin.journal.RawMessage;
 
+import java.util.Collection;
+
 public interface InputBuffer extends EventBuffer {
     void insert(RawMessage message);
+
+    /**
+     * Inserts all given messages, keeping their order. Implementations should publish the messages as a batch
+     * instead of claiming a buffer slot for every single message.
+     *
+     * @param messages the messages to insert
+     */
+    default void insert(Collection<RawMessage> messages) {
+        messages.forEach(this::insert);
+    }
 }
@@ -42,7 +42,10 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -380,6 +383,48 @@ public abstract class MessageInput implements Stoppable {
     }
 
     public void processRawMessage(RawMessage rawMessage) {
+        if (!prepareRawMessage(rawMessage)) {
+            return;
+        }
+
+        inputBuffer.insert(rawMessage);
+
+        final int payloadLength = rawMessage.getPayloadSize();
+        incomingMessages.mark();
+        globalIncomingMessages.inc();
+        rawSize.mark(payloadLength);
+        globalRawSize.inc(payloadLength);
+    }
+
+    /**
+     * Like {@link #processRawMessage(RawMessage)} but hands all given messages to the input buffer at once.
+     * Transports that receive messages in batches (e.g. one Kafka poll) should use this to avoid claiming
+     * a slot in the input buffer for every single message.
+     *
+     * @param rawMessages the messages to process, in order
+     */
+    public void processRawMessages(Collection<RawMessage> rawMessages) {
+        final List<RawMessage> accepted = new ArrayList<>(rawMessages.size());
+        long payloadLength = 0;
+        for (final RawMessage rawMessage : rawMessages) {
+            if (prepareRawMessage(rawMessage)) {
+                accepted.add(rawMessage);
+                payloadLength += rawMessage.getPayloadSize();
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        inputBuffer.insert(accepted);
+
+        incomingMessages.mark(accepted.size());
+        globalIncomingMessages.inc(accepted.size());
+        rawSize.mark(payloadLength);
+        globalRawSize.inc(payloadLength);
+    }
+
+    private boolean prepareRawMessage(RawMessage rawMessage) {
         final int payloadLength = rawMessage.getPayloadSize();
         if (payloadLength == 0) {
             LOG.debug("Discarding empty message {} from input {} (remote address {}). Turn logger org.graylog2.plugin.journal.RawMessage to TRACE to see originating stack trace.",
@@ -387,7 +432,7 @@ public abstract class MessageInput implements Stoppable {
                     toIdentifier(),
                     rawMessage.getRemoteAddress() == null ? "unknown" : rawMessage.getRemoteAddress());
             emptyMessages.inc();
-            return;
+            return false;
         }
 
         // add the common message metadata for this input/codec
@@ -396,13 +441,7 @@ public abstract class MessageInput implements Stoppable {
         rawMessage.addSourceNode(getId(), serverStatus.getNodeId());
         // Wrap at unsigned int maximum
         rawMessage.setSequenceNr((int) sequenceNr.getAndUpdate(i -> i == 0xFFFF_FFFFL ? 0 : i + 1));
-
-        inputBuffer.insert(rawMessage);
-
-        incomingMessages.mark();
-        globalIncomingMessages.inc();
-        rawSize.mark(payloadLength);
-        globalRawSize.inc(payloadLength);
+        return true;
     }
 
     public String getType() {
@@ -196,6 +196,11 @@ public abstract class ThrottleableTransport implements Transport {
             log.debug("[{}] [throttled] no capacity in process buffer", transportName);
             return true;
         }
+        if (state.outputBufferCapacity == 0) {
+            // the indexer cannot keep up, reading more would only grow the journal
+            log.debug("[{}] [throttled] no capacity in output buffer", transportName);
+            return true;
+        }
         if (state.appendEventsPerSec == 0 && state.readEventsPerSec == 0 && state.processBufferCapacity > 0) {
             // no one writes anything, it's ok to get more events
             log.debug("[{}] [unthrottled] no incoming messages and nothing read from journal even if we could", transportName);
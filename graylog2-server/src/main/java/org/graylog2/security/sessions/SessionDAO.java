@@ -16,9 +16,13 @@
  */
 package org.graylog2.security.sessions;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.joschi.jadconfig.util.Duration;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.apache.shiro.session.Session;
 import org.apache.shiro.session.mgt.SimpleSession;
@@ -29,6 +33,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A Shiro SessionDAO that persists sessions to MongoDB. Although its methods accept and return sessions that
@@ -36,22 +42,40 @@ import java.util.Collection;
  * are only allowed to hold a single principal and a limited set of attributes.
  * <p>
  * For the list of allowed attributes see {@link SessionConverter#KNOWN_SESSION_KEYS}.
+ * <p>
+ * Shiro updates a session on every request to record its last access time. If only the last access time of a session
+ * changed since it was last written, the update is skipped until the configured touch write interval has passed.
  */
 @Singleton
 public class SessionDAO extends CachingSessionDAO {
     private static final Logger LOG = LoggerFactory.getLogger(SessionDAO.class);
 
     private final SessionService sessionService;
+    private final long touchWriteIntervalMillis;
+    private final Meter databaseReads;
+    private final Meter writtenUpdates;
+    private final Meter coalescedUpdates;
+
+    // The sessions as they are stored in the database, as far as this node knows
+    private final Map<String, SessionDTO> persistedSessions = new ConcurrentHashMap<>();
 
     @Inject
-    public SessionDAO(SessionService sessionService, EventBus eventBus) {
+    public SessionDAO(SessionService sessionService,
+                      EventBus eventBus,
+                      @Named("session_touch_write_interval") Duration touchWriteInterval,
+                      MetricRegistry metricRegistry) {
         this.sessionService = sessionService;
+        this.touchWriteIntervalMillis = touchWriteInterval.toMilliseconds();
+        this.databaseReads = metricRegistry.meter(MetricRegistry.name(SessionDAO.class, "database-reads"));
+        this.writtenUpdates = metricRegistry.meter(MetricRegistry.name(SessionDAO.class, "updates", "written"));
+        this.coalescedUpdates = metricRegistry.meter(MetricRegistry.name(SessionDAO.class, "updates", "coalesced"));
         eventBus.register(this);
     }
 
     @SuppressWarnings("unused")
     @Subscribe
     public void sessionDeleted(SessionDeletedEvent event) {
+        persistedSessions.remove(event.sessionId());
         final Session cachedSession = getCachedSession(event.sessionId());
         if (cachedSession != null) {
             LOG.debug("Removing deleted session from cache.");
@@ -72,15 +96,23 @@ public class SessionDAO extends CachingSessionDAO {
 
         assignSessionId(session, sessionId);
 
-        final var primaryKey = sessionService.create(SessionDTO.builderFromSimpleSession(session).build());
+        final var sessionDTO = SessionDTO.builderFromSimpleSession(session).build();
+        final var primaryKey = sessionService.create(sessionDTO);
         LOG.debug("Created session {}", primaryKey);
+        persistedSessions.put(sessionId, sessionDTO);
 
         return sessionId;
     }
 
     @Override
     protected Session doReadSession(Serializable sessionId) {
-        return sessionService.getBySessionId(sessionId.toString()).map(SessionDTO::toSimpleSession).orElse(null);
+        databaseReads.mark();
+        return sessionService.getBySessionId(sessionId.toString())
+                .map(sessionDTO -> {
+                    persistedSessions.put(sessionDTO.sessionId(), sessionDTO);
+                    return sessionDTO.toSimpleSession();
+                })
+                .orElse(null);
     }
 
     @Override
@@ -92,14 +124,42 @@ public class SessionDAO extends CachingSessionDAO {
     }
 
     private void doUpdate(SimpleSession session) {
-        LOG.debug("Updating session");
         final var sessionDTO = SessionDTO.builderFromSimpleSession(session).build();
+        if (isRecentTouch(sessionDTO)) {
+            LOG.trace("Skipping update of session which was only touched since it was last written");
+            coalescedUpdates.mark();
+            return;
+        }
+        LOG.debug("Updating session");
         sessionService.updateBySessionId(sessionDTO);
+        writtenUpdates.mark();
+        persistedSessions.put(sessionDTO.sessionId(), sessionDTO);
+    }
+
+    /**
+     * Checks if the given session only differs from the persisted one in its last access time and if the persisted
+     * last access time is still recent enough.
+     */
+    private boolean isRecentTouch(SessionDTO session) {
+        if (touchWriteIntervalMillis <= 0) {
+            return false;
+        }
+        final SessionDTO persisted = persistedSessions.get(session.sessionId());
+        if (persisted == null) {
+            return false;
+        }
+        return session.lastAccessTime().isBefore(persisted.lastAccessTime().plusMillis(touchWriteIntervalMillis))
+                && session.toBuilder()
+                .id(persisted.id())
+                .lastAccessTime(persisted.lastAccessTime())
+                .build()
+                .equals(persisted);
     }
 
     @Override
     protected void doDelete(Session session) {
         LOG.debug("Deleting session");
+        persistedSessions.remove(session.getId().toString());
         if (sessionService.deleteBySessionId(session.getId().toString())) {
             LOG.debug("Deleted session from database");
         } else {
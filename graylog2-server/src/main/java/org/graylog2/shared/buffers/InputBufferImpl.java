@@ -36,6 +36,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 
+import java.util.Collection;
 import java.util.concurrent.ThreadFactory;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -108,6 +109,21 @@ public class InputBufferImpl implements InputBuffer {
         incomingMessages.mark();
     }
 
+    @Override
+    public void insert(Collection<RawMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        final RawMessage[] batch = messages.toArray(new RawMessage[0]);
+        // The ring buffer claims the whole batch with next(n) and publishes it with publish(lo, hi), but a batch
+        // cannot be larger than the ring buffer itself.
+        final int maxBatchSize = ringBuffer.getBufferSize();
+        for (int offset = 0; offset < batch.length; offset += maxBatchSize) {
+            ringBuffer.publishEvents(RawMessageEvent.TRANSLATOR, offset, Math.min(maxBatchSize, batch.length - offset), batch);
+        }
+        incomingMessages.mark(batch.length);
+    }
+
     @Override
     public long getUsage() {
         return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
@@ -21,6 +21,8 @@ import org.graylog2.plugin.journal.RawMessage;
 
 import jakarta.inject.Singleton;
 
+import java.util.Collection;
+
 @Singleton
 public class NoopInputBuffer implements InputBuffer {
 
@@ -28,6 +30,10 @@ public class NoopInputBuffer implements InputBuffer {
     public void insert(RawMessage message) {
     }
 
+    @Override
+    public void insert(Collection<RawMessage> messages) {
+    }
+
     @Override
     public long getUsage() {
         return 0;
@@ -25,7 +25,7 @@ import org.slf4j.LoggerFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
-import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 // Fill the first 32 bits of the ULIDs random section with
 // a sequence number that reflects the order in which messages were received by an input.
@@ -61,13 +61,15 @@ import java.security.SecureRandom;
 @Singleton
 public class MessageULIDGenerator {
     private static final Logger LOG = LoggerFactory.getLogger(MessageULIDGenerator.class);
+    // Crockford's Base32, as used by the ULID string representation
+    private static final char[] ENCODING_CHARS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ULID_STRING_LENGTH = 26;
+
     private final ULID ulid;
-    private final SecureRandom random;
 
     @Inject
     public MessageULIDGenerator(ULID ulid) {
         this.ulid = ulid;
-        random = new SecureRandom();
     }
 
     public String createULID(Message message) {
@@ -87,10 +89,26 @@ public class MessageULIDGenerator {
 
         final long msbWithoutRandom = timestamp << 16;
         final long lsbWithoutRandom = lsbSeq << 48;
-        final long nextRandom = random.nextLong();
+        // The random bits only need to make IDs of messages with the same timestamp and sequence number unique.
+        // Unlike a shared SecureRandom, ThreadLocalRandom doesn't make the processing threads contend for a lock.
+        final long nextRandom = ThreadLocalRandom.current().nextLong();
+
+        return toULIDString(msbWithoutRandom | msbSeq, lsbWithoutRandom | (nextRandom >>> 16));
+    }
 
-        final ULID.Value sequencedULID = new ULID.Value(msbWithoutRandom | msbSeq, lsbWithoutRandom | (nextRandom >>> 16));
-        return sequencedULID.toString();
+    /**
+     * Encodes the ULID like {@link ULID.Value#toString()}, without creating intermediate objects.
+     */
+    private static String toULIDString(long mostSignificantBits, long leastSignificantBits) {
+        final char[] chars = new char[ULID_STRING_LENGTH];
+        long msb = mostSignificantBits;
+        long lsb = leastSignificantBits;
+        for (int i = ULID_STRING_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ENCODING_CHARS[(int) (lsb & 0x1F)];
+            lsb = (lsb >>> 5) | (msb << 59);
+            msb >>>= 5;
+        }
+        return new String(chars);
     }
 
     private void checkTimestamp(long timestamp) {
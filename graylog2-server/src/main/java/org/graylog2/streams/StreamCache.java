@@ -33,6 +33,7 @@ import org.graylog2.streams.events.StreamsChangedEvent;
 
 import javax.annotation.Nullable;
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -44,7 +45,7 @@ import static org.graylog2.plugin.streams.Stream.DEFAULT_STREAM_ID;
 import static org.graylog2.shared.utilities.StringUtils.f;
 
 /**
- * Singleton cache for stream metadata (titles and system stream IDs).
+ * Singleton cache for stream metadata (titles, system stream IDs and the IDs of all streams).
  * <p>
  * Registers with {@link EventBus} for cache invalidation on stream changes.
  * Singleton to not leak instances via the EventBus.
@@ -53,9 +54,11 @@ import static org.graylog2.shared.utilities.StringUtils.f;
 public class StreamCache {
 
     private static final String SYSTEM_STREAM_IDS_KEY = "systemStreamIds";
+    private static final String ALL_STREAM_IDS_KEY = "allStreamIds";
 
     private final LoadingCache<String, String> titleCache;
     private final LoadingCache<String, Set<String>> systemStreamIdsCache;
+    private final LoadingCache<String, List<String>> allStreamIdsCache;
 
     @Inject
     public StreamCache(MongoCollections mongoCollections, EventBus eventBus) {
@@ -88,6 +91,19 @@ public class StreamCache {
                     }
                 });
 
+        // Expire after write to limit the staleness in case a stream change has been missed
+        this.allStreamIdsCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .build(new CacheLoader<>() {
+                    @Nonnull
+                    @Override
+                    public List<String> load(@Nonnull String ignored) {
+                        try (var s = stream(collection.find())) {
+                            return s.map(StreamDTO::id).toList();
+                        }
+                    }
+                });
+
         eventBus.register(this);
     }
 
@@ -95,6 +111,7 @@ public class StreamCache {
     public void handleStreamsChanged(StreamsChangedEvent event) {
         event.streamIds().forEach(titleCache::invalidate);
         systemStreamIdsCache.invalidateAll();
+        allStreamIdsCache.invalidateAll();
     }
 
     @Nullable
@@ -111,6 +128,10 @@ public class StreamCache {
         return includeDefaultStream ? Sets.union(ids, Set.of(DEFAULT_STREAM_ID)) : ids;
     }
 
+    public List<String> getAllStreamIds() {
+        return allStreamIdsCache.getUnchecked(ALL_STREAM_IDS_KEY);
+    }
+
     public void invalidateTitle(String streamId) {
         titleCache.invalidate(streamId);
     }
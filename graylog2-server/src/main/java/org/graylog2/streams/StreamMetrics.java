@@ -19,22 +19,29 @@ package org.graylog2.streams;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
-import com.google.common.collect.Maps;
 import org.graylog2.plugin.streams.Stream;
 import org.graylog2.plugin.streams.StreamRule;
 
 import jakarta.inject.Inject;
 
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the per-stream metrics, so that looking them up for every message doesn't require building the metric name
+ * and a lookup in the {@link MetricRegistry}.
+ * <p>
+ * Instances are shared between the processing threads (e.g. through the {@link StreamRouterEngine}), so the caches
+ * must be safe for concurrent use.
+ */
 public class StreamMetrics {
     private final MetricRegistry metricRegistry;
 
-    private final Map<String, Meter> streamIncomingMeters = Maps.newHashMap();
-    private final Map<String, Timer> streamExecutionTimers = Maps.newHashMap();
-    private final Map<String, Meter> streamExceptionMeters = Maps.newHashMap();
-    private final Map<String, Meter> streamRuleTimeoutMeters = Maps.newHashMap();
-    private final Map<String, Meter> streamFaultsExceededMeters = Maps.newHashMap();
+    private final Map<String, Meter> streamIncomingMeters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> streamExecutionTimers = new ConcurrentHashMap<>();
+    private final Map<String, Meter> streamExceptionMeters = new ConcurrentHashMap<>();
+    private final Map<String, Meter> streamRuleTimeoutMeters = new ConcurrentHashMap<>();
+    private final Map<String, Meter> streamFaultsExceededMeters = new ConcurrentHashMap<>();
 
 
     @Inject
@@ -47,13 +54,12 @@ public class StreamMetrics {
     }
 
     public Timer getExecutionTimer(String streamId, String streamRuleId) {
-        Timer timer = this.streamExecutionTimers.get(streamRuleId);
-        if (timer == null) {
-            timer = metricRegistry.timer(MetricRegistry.name(Stream.class, streamId, "StreamRule", streamRuleId, "executionTime"));
-            this.streamExecutionTimers.put(streamRuleId, timer);
+        final Timer timer = streamExecutionTimers.get(streamRuleId);
+        if (timer != null) {
+            return timer;
         }
-
-        return timer;
+        return streamExecutionTimers.computeIfAbsent(streamRuleId, id ->
+                metricRegistry.timer(MetricRegistry.name(Stream.class, streamId, "StreamRule", id, "executionTime")));
     }
 
 
@@ -69,43 +75,28 @@ public class StreamMetrics {
         getStreamFaultsExceededMeter(streamId).mark();
     }
 
-    private Meter getIncomingMeter(String streamId) {
-        Meter meter = this.streamIncomingMeters.get(streamId);
-        if (meter == null) {
-            meter = metricRegistry.meter(MetricRegistry.name(Stream.class, streamId, "incomingMessages"));
-            this.streamIncomingMeters.put(streamId, meter);
-        }
-
-        return meter;
+    private Meter getIncomingMeter(final String streamId) {
+        return getMeter(streamIncomingMeters, streamId, "incomingMessages");
     }
 
-    private Meter getExceptionMeter(String streamId) {
-        Meter meter = this.streamExceptionMeters.get(streamId);
-        if (meter == null) {
-            meter = metricRegistry.meter(MetricRegistry.name(Stream.class, streamId, "matchingExceptions"));
-            this.streamExceptionMeters.put(streamId, meter);
-        }
-
-        return meter;
+    private Meter getExceptionMeter(final String streamId) {
+        return getMeter(streamExceptionMeters, streamId, "matchingExceptions");
     }
 
     private Meter getStreamRuleTimeoutMeter(final String streamId) {
-        Meter meter = this.streamRuleTimeoutMeters.get(streamId);
-        if (meter == null) {
-            meter = metricRegistry.meter(MetricRegistry.name(Stream.class, streamId, "ruleTimeouts"));
-            this.streamRuleTimeoutMeters.put(streamId, meter);
-        }
-
-        return meter;
+        return getMeter(streamRuleTimeoutMeters, streamId, "ruleTimeouts");
     }
 
     private Meter getStreamFaultsExceededMeter(final String streamId) {
-        Meter meter = this.streamFaultsExceededMeters.get(streamId);
-        if (meter == null) {
-            meter = metricRegistry.meter(MetricRegistry.name(Stream.class, streamId, "faultsExceeded"));
-            this.streamFaultsExceededMeters.put(streamId, meter);
-        }
+        return getMeter(streamFaultsExceededMeters, streamId, "faultsExceeded");
+    }
 
-        return meter;
+    private Meter getMeter(Map<String, Meter> meters, String streamId, String metricName) {
+        // Avoids the locking of computeIfAbsent() for the common case of an already existing meter
+        final Meter meter = meters.get(streamId);
+        if (meter != null) {
+            return meter;
+        }
+        return meters.computeIfAbsent(streamId, id -> metricRegistry.meter(MetricRegistry.name(Stream.class, id, metricName)));
     }
 }
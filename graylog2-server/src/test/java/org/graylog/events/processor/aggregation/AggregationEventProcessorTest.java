@@ -115,7 +115,8 @@ public class AggregationEventProcessorTest {
         ));
 
         eventStreamService = new EventStreamService(streamService);
-        permittedStreams = new PermittedStreams(streamService);
+        permittedStreams = new PermittedStreams(streamService::streamAllIds, streamService::mapCategoriesToIds,
+                () -> streamService.getSystemStreamIds(false));
     }
     @Test
     public void createEventsWithFilter() throws Exception {
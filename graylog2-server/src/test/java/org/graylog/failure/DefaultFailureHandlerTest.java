@@ -17,18 +17,19 @@
 package org.graylog.failure;
 
 import com.google.common.collect.ImmutableList;
+import org.graylog2.indexer.IndexFailure;
 import org.graylog2.indexer.IndexFailureService;
 import org.graylog2.indexer.messages.Indexable;
 import org.graylog2.plugin.Tools;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.ArrayList;
+import java.util.List;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -82,22 +83,22 @@ public class DefaultFailureHandlerTest {
         underTest.handle(indexingFailureBatch);
 
         // then
-        verify(indexFailureService, times(2)).saveWithoutValidation(any());
-
-        verify(indexFailureService, times(1)).saveWithoutValidation(argThat(arg ->
-                arg.asMap().get("letter_id").equals("msg-1") &&
-                        arg.asMap().get("index").equals("index1") &&
-                        arg.asMap().get("type").equals("indexing") &&
-                        arg.asMap().get("message").equals("indexingFailureDetails1") &&
-                        arg.asMap().get("timestamp") != null
-                ));
-
-        verify(indexFailureService, times(1)).saveWithoutValidation(argThat(arg ->
-                arg.asMap().get("letter_id").equals("msg-2") &&
-                        arg.asMap().get("index").equals("index2") &&
-                        arg.asMap().get("type").equals("indexing") &&
-                        arg.asMap().get("message").equals("indexingFailureDetails2") &&
-                        arg.asMap().get("timestamp") != null
-        ));
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<IndexFailure>> captor = ArgumentCaptor.forClass(List.class);
+        verify(indexFailureService, times(1)).saveAll(captor.capture());
+
+        assertThat(captor.getValue()).satisfiesExactly(
+                arg -> assertThat(arg.asMap())
+                        .containsEntry("letter_id", "msg-1")
+                        .containsEntry("index", "index1")
+                        .containsEntry("type", "indexing")
+                        .containsEntry("message", "indexingFailureDetails1")
+                        .containsKey("timestamp"),
+                arg -> assertThat(arg.asMap())
+                        .containsEntry("letter_id", "msg-2")
+                        .containsEntry("index", "index2")
+                        .containsEntry("type", "indexing")
+                        .containsEntry("message", "indexingFailureDetails2")
+                        .containsKey("timestamp"));
     }
 }
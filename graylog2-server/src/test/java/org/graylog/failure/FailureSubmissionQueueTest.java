@@ -92,6 +92,7 @@ public class FailureSubmissionQueueTest {
 
         // then
         assertThat(waited).isGreaterThan(200);
+        assertThat(metricRegistry.meter(MetricRegistry.name(FailureSubmissionQueue.class, "blockedSubmissions")).getCount()).isEqualTo(1);
         assertThat(underTest.queueSize()).isEqualTo(2);
         assertThat(underTest.consumeBlocking()).isEqualTo(FailureBatch.processingFailureBatch(prcFailure2));
         assertThat(underTest.consumeBlocking()).isEqualTo(FailureBatch.processingFailureBatch(prcFailure3));
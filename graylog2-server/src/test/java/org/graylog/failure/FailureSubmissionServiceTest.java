@@ -135,7 +135,7 @@ class FailureSubmissionServiceTest {
 
 
     @Test
-    void submitProcessingErrors_allProcessingErrorsSubmittedToQueueAndMessageNotFilteredOut_ifSubmissionEnabledAndDuplicatesAreKept() throws Exception {
+    void submitProcessingErrors_allProcessingErrorsSubmittedToQueueAsOneBatchAndMessageNotFilteredOut_ifSubmissionEnabledAndDuplicatesAreKept() throws Exception {
         // given
         final Message msg = mock(Message.class);
         String messageId = "msg-x";
@@ -157,11 +157,11 @@ class FailureSubmissionServiceTest {
 
         assertThat(notFilterOut).isTrue();
 
-        verify(failureSubmissionQueue, times(2)).submitBlocking(failureBatchCaptor.capture());
+        verify(failureSubmissionQueue, times(1)).submitBlocking(failureBatchCaptor.capture());
 
-        assertThat(failureBatchCaptor.getAllValues().get(0)).satisfies(fb -> {
+        assertThat(failureBatchCaptor.getValue()).satisfies(fb -> {
             assertThat(fb.containsProcessingFailures()).isTrue();
-            assertThat(fb.size()).isEqualTo(1);
+            assertThat(fb.size()).isEqualTo(2);
 
             assertThat(fb.getFailures().get(0)).satisfies(processingFailure -> {
                 assertThat(processingFailure.failureType()).isEqualTo(FailureType.PROCESSING);
@@ -173,13 +173,8 @@ class FailureSubmissionServiceTest {
                 assertThat(processingFailure.targetIndex()).isNull();
                 assertThat(processingFailure.requiresAcknowledgement()).isFalse();
             });
-        });
 
-        assertThat(failureBatchCaptor.getAllValues().get(1)).satisfies(fb -> {
-            assertThat(fb.containsProcessingFailures()).isTrue();
-            assertThat(fb.size()).isEqualTo(1);
-
-            assertThat(fb.getFailures().get(0)).satisfies(processingFailure -> {
+            assertThat(fb.getFailures().get(1)).satisfies(processingFailure -> {
                 assertThat(processingFailure.failureType()).isEqualTo(FailureType.PROCESSING);
                 assertThat(processingFailure.failureCause().label()).isEqualTo("Cause 2");
                 assertThat(processingFailure.message()).isEqualTo("Failed to process message with id 'msg-x': Message 2");
@@ -78,7 +78,11 @@ import static com.codahale.metrics.MetricRegistry.name;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.graylog2.plugin.streams.Stream.DEFAULT_STREAM_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PipelineInterpreterTest {
@@ -692,6 +696,66 @@ public class PipelineInterpreterTest {
 
     }
 
+    @Test
+    public void sharedRuleConditionIsEvaluatedOncePerMessage() {
+        final StringConversion stringConversion = spy(new StringConversion());
+        final PipelineInterpreter interpreter = createPipelineInterpreterWithSharedRule("""
+                rule "shared"
+                when to_string($message.message) == "original message"
+                then
+                end""", stringConversion);
+
+        interpreter.process(messageInDefaultStream("original message", "test"));
+
+        verify(stringConversion, times(1)).evaluate(any(), any());
+    }
+
+    @Test
+    public void sharedRuleConditionIsEvaluatedAgainAfterRuleActions() {
+        final StringConversion stringConversion = spy(new StringConversion());
+        final PipelineInterpreter interpreter = createPipelineInterpreterWithSharedRule("""
+                rule "shared"
+                when to_string($message.message) == "original message"
+                then
+                  set_field("foobar", "covfefe");
+                end""", stringConversion);
+
+        final List<Message> processed = ImmutableList.copyOf(interpreter.process(messageInDefaultStream("original message", "test")));
+
+        verify(stringConversion, times(2)).evaluate(any(), any());
+        assertThat(processed).hasSize(1);
+        assertThat(processed.get(0).getFieldAs(String.class, "foobar")).isEqualTo("covfefe");
+    }
+
+    private PipelineInterpreter createPipelineInterpreterWithSharedRule(String ruleSource, StringConversion stringConversion) {
+        when(ruleService.loadAll()).thenReturn(ImmutableList.of(RuleDao.create("shared", null, "shared", "shared",
+                ruleSource, null, null, null, null)));
+        when(pipelineService.loadAll()).thenReturn(ImmutableList.of(
+                PipelineDao.create("p1", null, "title", "description",
+                        """
+                                pipeline "pipeline1"
+                                stage 0 match all
+                                    rule "shared";
+                                end
+                                """,
+                        Tools.nowUTC(),
+                        null),
+                PipelineDao.create("p2", null, "title", "description",
+                        """
+                                pipeline "pipeline2"
+                                stage 0 match all
+                                    rule "shared";
+                                end
+                                """,
+                        Tools.nowUTC(),
+                        null)
+        ));
+
+        return createPipelineInterpreter(ruleService, pipelineService, ImmutableMap.of(
+                SetField.NAME, new SetField(),
+                StringConversion.NAME, stringConversion));
+    }
+
     @Test
     public void process_ruleConditionEvaluationErrorConvertedIntoMessageProcessingError() throws Exception {
         // given
@@ -28,6 +28,8 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TimeZone;
@@ -63,6 +65,29 @@ class IndexLookupImplTest {
         assertThat(result).containsExactly(indexRange1.indexName());
     }
 
+    @Test
+    void skipsIndicesNotContainingRequiredFieldValues() {
+        final IndexRange indexRange1 = mockIndexRange("index1");
+        when(indexRange1.fieldValues()).thenReturn(Map.of("source", List.of("host1")));
+        final IndexRange indexRange2 = mockIndexRange("index2");
+        when(indexRange2.fieldValues()).thenReturn(Map.of("source", List.of("host2")));
+        final IndexRange indexRange3 = mockIndexRange("index3");
+        final SortedSet<IndexRange> indexRanges = sortedSetOf(indexRange1, indexRange2, indexRange3);
+
+        final IndexRangeContainsOneOfStreams indexRangeContainsOneOfStreams = mock(IndexRangeContainsOneOfStreams.class);
+        doReturn(true).when(indexRangeContainsOneOfStreams).test(any(), any());
+        final IndexLookup sut = new IndexLookupImpl(
+                mockIndexRangeService(indexRanges, timeRangeWithMatchingIndexRange),
+                mockStreamService(streamIds),
+                indexRangeContainsOneOfStreams);
+
+        final Map<String, Set<String>> requiredFieldValues = sut.requiredFieldValues(ElasticsearchQueryString.of("source:HOST1 AND action:login"));
+        assertThat(requiredFieldValues).containsOnly(Map.entry("source", Set.of("HOST1")), Map.entry("action", Set.of("login")));
+
+        Set<String> result = sut.indexNamesForStreamsInTimeRange(streamIds, timeRangeWithMatchingIndexRange, requiredFieldValues);
+        assertThat(result).containsExactlyInAnyOrder("index1", "index3");
+    }
+
     @Test
     void returnsEmptySetForEmptyStreamIds() {
         final IndexLookup sut = new IndexLookupImpl(mock(IndexRangeService.class), mockStreamService(Collections.emptySet()), mock(IndexRangeContainsOneOfStreams.class));
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.elasticsearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequiredFieldValuesTest {
+
+    @Test
+    void extractsSingleTerm() {
+        assertThat(RequiredFieldValues.of("source:example.org"))
+                .containsOnly(Map.entry("source", Set.of("example.org")));
+    }
+
+    @Test
+    void extractsMandatoryTermsOfConjunction() {
+        assertThat(RequiredFieldValues.of("source:example.org AND gl2_source_input:abc123 AND message:foo*"))
+                .containsOnly(
+                        Map.entry("source", Set.of("example.org")),
+                        Map.entry("gl2_source_input", Set.of("abc123")));
+    }
+
+    @Test
+    void extractsAlternativesForSameField() {
+        assertThat(RequiredFieldValues.of("(source:a OR source:b) AND action:login"))
+                .containsOnly(
+                        Map.entry("source", Set.of("a", "b")),
+                        Map.entry("action", Set.of("login")));
+    }
+
+    @Test
+    void ignoresOptionalAndProhibitedTerms() {
+        assertThat(RequiredFieldValues.of("source:a OR action:login")).isEmpty();
+        assertThat(RequiredFieldValues.of("source:a foo")).isEmpty();
+        assertThat(RequiredFieldValues.of("NOT source:a")).isEmpty();
+        assertThat(RequiredFieldValues.of("action:login AND NOT source:a"))
+                .containsOnly(Map.entry("action", Set.of("login")));
+    }
+
+    @Test
+    void ignoresDefaultFieldParametersAndUnparseableQueries() {
+        assertThat(RequiredFieldValues.of("foo")).isEmpty();
+        assertThat(RequiredFieldValues.of("*")).isEmpty();
+        assertThat(RequiredFieldValues.of("source:$host$")).isEmpty();
+        assertThat(RequiredFieldValues.of("source:(a")).isEmpty();
+    }
+
+    @Test
+    void keepsFirstRequirementForRepeatedField() {
+        assertThat(RequiredFieldValues.of("source:a AND source:b"))
+                .containsOnly(Map.entry("source", Set.of("a")));
+    }
+}
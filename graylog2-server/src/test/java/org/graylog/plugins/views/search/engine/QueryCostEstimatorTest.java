@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import com.google.common.collect.ImmutableSortedSet;
+import org.graylog.plugins.views.search.Query;
+import org.graylog.plugins.views.search.filter.StreamFilter;
+import org.graylog2.indexer.ranges.IndexRange;
+import org.graylog2.indexer.ranges.IndexRangeService;
+import org.graylog2.indexer.ranges.MongoIndexRange;
+import org.graylog2.plugin.indexer.searches.timeranges.AbsoluteRange;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCostEstimatorTest {
+    private static final DateTime NOW = new DateTime(2024, 1, 1, 0, 0, DateTimeZone.UTC);
+
+    @Mock
+    private IndexRangeService indexRangeService;
+
+    private QueryCostEstimator queryCostEstimator;
+
+    @BeforeEach
+    void setUp() {
+        queryCostEstimator = new QueryCostEstimator(indexRangeService);
+    }
+
+    @Test
+    void scalesDocumentCountsToOverlappingTimeRange() {
+        indexRanges(
+                indexRange("graylog_0", NOW, NOW.plusHours(10), List.of("stream1"), 1000L),
+                indexRange("graylog_1", NOW.plusHours(10), NOW.plusHours(20), null, 2000L)
+        );
+
+        assertThat(queryCostEstimator.estimatedDocuments(query(NOW.plusHours(5), NOW.plusHours(20))))
+                .isEqualTo(500L + 2000L);
+    }
+
+    @Test
+    void ignoresIndicesWithoutDocumentCount() {
+        indexRanges(
+                indexRange("graylog_0", NOW, NOW.plusHours(10), null, 1000L),
+                indexRange("graylog_1", NOW.plusHours(10), NOW.plusHours(20), null, null)
+        );
+
+        assertThat(queryCostEstimator.estimatedDocuments(query(NOW, NOW.plusHours(20)))).isEqualTo(1000L);
+    }
+
+    @Test
+    void ignoresIndicesWhichDoNotContainQueriedStreams() {
+        indexRanges(
+                indexRange("graylog_0", NOW, NOW.plusHours(10), List.of("stream1"), 1000L),
+                indexRange("graylog_1", NOW.plusHours(10), NOW.plusHours(20), List.of("stream1", "stream2"), 2000L),
+                indexRange("graylog_2", NOW.plusHours(20), NOW.plusHours(30), null, 4000L)
+        );
+
+        final Query query = Query.builder()
+                .id("query1")
+                .timerange(AbsoluteRange.create(NOW, NOW.plusHours(30)))
+                .filter(StreamFilter.ofId("stream2"))
+                .build();
+
+        assertThat(queryCostEstimator.estimatedDocuments(query)).isEqualTo(2000L + 4000L);
+    }
+
+    @Test
+    void countsAllDocumentsOfIndicesWithoutTimeSpan() {
+        indexRanges(indexRange("graylog_0", NOW.plusHours(5), NOW.plusHours(5), null, 1000L));
+
+        assertThat(queryCostEstimator.estimatedDocuments(query(NOW, NOW.plusHours(10)))).isEqualTo(1000L);
+    }
+
+    private void indexRanges(IndexRange... indexRanges) {
+        when(indexRangeService.find(any(DateTime.class), any(DateTime.class)))
+                .thenReturn(ImmutableSortedSet.orderedBy(IndexRange.COMPARATOR).add(indexRanges).build());
+    }
+
+    private static IndexRange indexRange(String indexName, DateTime begin, DateTime end, List<String> streamIds, Long documentCount) {
+        return MongoIndexRange.create(indexName, begin, end, NOW, 0, streamIds, null, documentCount);
+    }
+
+    private static Query query(DateTime from, DateTime to) {
+        return Query.builder()
+                .id("query1")
+                .timerange(AbsoluteRange.create(from, to))
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import org.graylog.plugins.views.search.Query;
+import org.graylog.plugins.views.search.QueryResult;
+import org.graylog.plugins.views.search.Search;
+import org.graylog.plugins.views.search.SearchJob;
+import org.graylog.plugins.views.search.searchfilters.EffectiveQueryComposer;
+import org.graylog2.Configuration;
+import org.graylog2.storage.providers.ElasticsearchBackendProvider;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryEngineTest {
+    private final Query query = Query.builder().id("query1").build();
+
+    @Mock
+    private Configuration configuration;
+    @Mock
+    private ElasticsearchBackendProvider elasticsearchBackendProvider;
+    @Mock
+    private QueryBackend<GeneratedQueryContext> backend;
+    @Mock
+    private GeneratedQueryContext generatedQueryContext;
+    @Mock
+    private QueryCostEstimator queryCostEstimator;
+
+    @Test
+    void rejectsQueriesEstimatedToExceedMessageLimit() {
+        final QueryEngine queryEngine = createQueryEngine(100L);
+        when(queryCostEstimator.estimatedDocuments(query)).thenReturn(1000L);
+
+        final SearchJob searchJob = execute(queryEngine);
+
+        assertThat(searchJob.results().get("query1").state()).isEqualTo(QueryResult.State.FAILED);
+        assertThat(searchJob.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.description()).contains("exceeds the limit of 100 messages"));
+        verifyNoInteractions(elasticsearchBackendProvider);
+    }
+
+    @Test
+    void runsQueriesEstimatedWithinMessageLimit() {
+        final QueryEngine queryEngine = createQueryEngine(100L);
+        when(queryCostEstimator.estimatedDocuments(query)).thenReturn(10L);
+        final QueryResult queryResult = QueryResult.emptyResult().toBuilder().query(query).build();
+        doReturn(backend).when(elasticsearchBackendProvider).get();
+        when(backend.generate(eq(query), any(), eq(DateTimeZone.UTC))).thenReturn(generatedQueryContext);
+        when(backend.run(any(), eq(query), eq(generatedQueryContext))).thenReturn(queryResult);
+
+        final SearchJob searchJob = execute(queryEngine);
+
+        assertThat(searchJob.results()).containsEntry("query1", queryResult);
+        assertThat(searchJob.getErrors()).isEmpty();
+    }
+
+    private QueryEngine createQueryEngine(long maxEstimatedMessages) {
+        when(configuration.searchQueryEngineIndexerJobsPoolSize()).thenReturn(1);
+        when(configuration.searchQueryEngineDataLakeJobsPoolSize()).thenReturn(1);
+        when(configuration.searchQueryEngineMaxEstimatedMessages()).thenReturn(maxEstimatedMessages);
+        return new QueryEngine(configuration, elasticsearchBackendProvider, Map.of(), Set.of(),
+                mock(QueryParser.class), mock(EffectiveQueryComposer.class), queryCostEstimator, new MetricRegistry());
+    }
+
+    private SearchJob execute(QueryEngine queryEngine) {
+        final Search search = Search.builder().queries(ImmutableSet.of(query)).build();
+        final SearchJob searchJob = queryEngine.execute(new SearchJob("job1", search, "alice", "node1"), Set.of(), DateTimeZone.UTC);
+        searchJob.getResultFuture().join();
+        return searchJob;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import com.google.common.collect.ImmutableSet;
+import org.graylog.plugins.views.search.Parameter;
+import org.graylog.plugins.views.search.Query;
+import org.graylog.plugins.views.search.QueryResult;
+import org.graylog.plugins.views.search.Search;
+import org.graylog.plugins.views.search.SearchJob;
+import org.graylog.plugins.views.search.errors.QueryError;
+import org.graylog.plugins.views.search.errors.SearchError;
+import org.graylog2.plugin.Tools;
+import org.graylog2.plugin.indexer.searches.timeranges.AbsoluteRange;
+import org.graylog2.plugin.indexer.searches.timeranges.RelativeRange;
+import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
+import org.graylog2.utilities.FakeTicker;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryResultCacheTest {
+    private static final Duration EXPIRE_AFTER = Duration.ofMinutes(5);
+
+    private final FakeTicker ticker = new FakeTicker(Duration.ZERO);
+    private final QueryResultCache cache = new QueryResultCache(10, EXPIRE_AFTER, ticker);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private SearchJob searchJob;
+
+    @BeforeEach
+    void setUp() {
+        searchJob = searchJob(ImmutableSet.of());
+    }
+
+    @Test
+    void reusesResultForSameQueryParametersAndTimezone() {
+        final Query query = query(closedRange());
+
+        final QueryResult first = cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        final QueryResult second = cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(second).isSameAs(first);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void runsQueryAgainForDifferentParametersOrTimezone() {
+        final Query query = query(closedRange());
+        final SearchJob jobWithParameters = searchJob(ImmutableSet.of(mock(Parameter.class)));
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(jobWithParameters, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.forID("Europe/Berlin"), () -> run(query));
+        cache.getOrRun(searchJob, query(closedRange()), Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    void runsQueryAgainAfterResultExpired() {
+        final Query query = query(closedRange());
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        ticker.advance(EXPIRE_AFTER.minusSeconds(1));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(1);
+
+        ticker.advance(Duration.ofSeconds(1));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void bypassesRelativeTimeRanges() throws Exception {
+        final Query query = query(RelativeRange.create(300));
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void bypassesTimeRangesWhichEndedRecently() {
+        final DateTime now = Tools.nowUTC();
+        final Query query = query(AbsoluteRange.create(now.minusHours(1), now.minusSeconds(10)));
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void bypassesTimeRangesWhichEndedWithinExpiryPeriod() {
+        final DateTime now = Tools.nowUTC();
+        final Query query = query(AbsoluteRange.create(now.minusHours(1), now.minusMinutes(4)));
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void reusesResultForTimeRangesWhichEndedBeforeExpiryPeriod() {
+        final DateTime now = Tools.nowUTC();
+        final Query query = query(AbsoluteRange.create(now.minusHours(1), now.minusMinutes(6)));
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void bypassesQueriesWithValidationErrors() {
+        final Query query = query(closedRange());
+        final Set<SearchError> validationErrors = Set.of(new QueryError(query, "invalid query"));
+
+        cache.getOrRun(searchJob, query, validationErrors, DateTimeZone.UTC, () -> run(query));
+        cache.getOrRun(searchJob, query, validationErrors, DateTimeZone.UTC, () -> run(query));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheFailedResults() {
+        final Query query = query(closedRange());
+        final QueryResult failed = QueryResult.failedQueryWithError(query, new QueryError(query, "failed"));
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(failed, List.of()));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(failed, List.of()));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void addsGeneratedErrorsToSearchJobForCachedResults() {
+        final Query query = query(closedRange());
+        final SearchError error = new QueryError(query, "deprecated syntax", false);
+        final QueryResult result = QueryResult.emptyResult().toBuilder().query(query).build();
+
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(result, List.of(error)));
+        cache.getOrRun(searchJob, query, Set.of(), DateTimeZone.UTC, () -> run(result, List.of(error)));
+
+        assertThat(executions).hasValue(1);
+        verify(searchJob, times(2)).addError(error);
+    }
+
+    private QueryResultCache.ExecutedQuery run(Query query) {
+        return run(QueryResult.emptyResult().toBuilder().query(query).build(), List.of());
+    }
+
+    private QueryResultCache.ExecutedQuery run(QueryResult result, List<SearchError> errors) {
+        executions.incrementAndGet();
+        return new QueryResultCache.ExecutedQuery(result, errors);
+    }
+
+    private static SearchJob searchJob(ImmutableSet<Parameter> parameters) {
+        final Search search = mock(Search.class);
+        when(search.parameters()).thenReturn(parameters);
+        final SearchJob searchJob = mock(SearchJob.class);
+        when(searchJob.getSearch()).thenReturn(search);
+        return searchJob;
+    }
+
+    private static Query query(TimeRange timeRange) {
+        return Query.builder().timerange(timeRange).build();
+    }
+
+    private static AbsoluteRange closedRange() {
+        return AbsoluteRange.create(DateTime.parse("2024-01-01T00:00:00.000Z"), DateTime.parse("2024-01-02T00:00:00.000Z"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine;
+
+import com.codahale.metrics.Timer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchAdmissionControllerTest {
+    private final Queue<Runnable> submittedTasks = new ArrayDeque<>();
+    private final Executor executor = submittedTasks::add;
+    private final List<String> executedQueries = new ArrayList<>();
+
+    @Test
+    void limitsConcurrentQueries() {
+        final SearchAdmissionController controller = new SearchAdmissionController(2, 0, 0, new Timer());
+
+        submit(controller, "alice", "a1");
+        submit(controller, "alice", "a2");
+        submit(controller, "alice", "a3");
+
+        assertThat(submittedTasks).hasSize(2);
+        assertThat(controller.runningQueryCount()).isEqualTo(2);
+        assertThat(controller.pendingQueryCount()).isEqualTo(1);
+
+        runNextTask();
+
+        assertThat(executedQueries).containsExactly("a1");
+        assertThat(submittedTasks).hasSize(2);
+        assertThat(controller.pendingQueryCount()).isZero();
+    }
+
+    @Test
+    void limitsConcurrentQueriesPerUser() {
+        final SearchAdmissionController controller = new SearchAdmissionController(4, 1, 0, new Timer());
+
+        submit(controller, "alice", "a1");
+        submit(controller, "alice", "a2");
+        submit(controller, "bob", "b1");
+
+        assertThat(submittedTasks).hasSize(2);
+
+        runNextTask();
+        runNextTask();
+        runNextTask();
+
+        assertThat(executedQueries).containsExactly("a1", "b1", "a2");
+    }
+
+    @Test
+    void startsQueuedQueriesOfDifferentUsersInTurns() {
+        final SearchAdmissionController controller = new SearchAdmissionController(1, 0, 0, new Timer());
+
+        submit(controller, "alice", "a1");
+        submit(controller, "alice", "a2");
+        submit(controller, "alice", "a3");
+        submit(controller, "bob", "b1");
+        submit(controller, "carol", "c1");
+        submit(controller, "bob", "b2");
+
+        while (!submittedTasks.isEmpty()) {
+            runNextTask();
+        }
+
+        assertThat(executedQueries).containsExactly("a1", "a2", "b1", "c1", "a3", "b2");
+    }
+
+    @Test
+    void completesFutureWithWrappedException() {
+        final SearchAdmissionController controller = new SearchAdmissionController(1, 0, 0, new Timer());
+
+        final CompletableFuture<String> result = controller.submit("alice", () -> {
+            throw new IllegalStateException("boom");
+        }, executor);
+        runNextTask();
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(result.handle((r, t) -> t).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(controller.runningQueryCount()).isZero();
+    }
+
+    @Test
+    void rejectsQueriesWhenQueueIsFull() {
+        final SearchAdmissionController controller = new SearchAdmissionController(1, 0, 2, new Timer());
+
+        submit(controller, "alice", "a1");
+        submit(controller, "alice", "a2");
+        submit(controller, "bob", "b1");
+        final CompletableFuture<Boolean> rejected = controller.submit("bob", () -> executedQueries.add("b2"), executor);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(rejected.handle((r, t) -> t).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(controller.pendingQueryCount()).isEqualTo(2);
+
+        while (!submittedTasks.isEmpty()) {
+            runNextTask();
+        }
+
+        assertThat(executedQueries).containsExactly("a1", "a2", "b1");
+    }
+
+    private void submit(SearchAdmissionController controller, String user, String query) {
+        controller.submit(user, () -> executedQueries.add(query), executor);
+    }
+
+    private void runNextTask() {
+        submittedTasks.remove().run();
+    }
+}
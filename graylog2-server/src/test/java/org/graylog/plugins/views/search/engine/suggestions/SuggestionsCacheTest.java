@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog.plugins.views.search.engine.suggestions;
+
+import org.graylog2.plugin.indexer.searches.timeranges.RelativeRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionsCacheTest {
+    private final SuggestionsCache cache = new SuggestionsCache();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    @Test
+    void reusesResponseForSameRequest() {
+        cache.suggest(request("ho"), backend(response("ho", 10L, "host1", "host2")));
+        final SuggestionResponse response = cache.suggest(request("ho"), backend(response("ho", 10L)));
+
+        assertThat(values(response)).containsExactly("host1", "host2");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void narrowsDownCompleteResponseForLongerInput() {
+        cache.suggest(request("h"), backend(response("h", 0L, "host1", "host2", "hub")));
+        final SuggestionResponse response = cache.suggest(request("ho"), backend(response("ho", 0L)));
+
+        assertThat(response.input()).isEqualTo("ho");
+        assertThat(values(response)).containsExactly("host1", "host2");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void asksBackendIfShorterInputHadMoreValues() {
+        cache.suggest(request("h"), backend(response("h", 42L, "host1", "host2", "hub")));
+        final SuggestionResponse response = cache.suggest(request("hu"), backend(response("hu", 0L, "hub", "human")));
+
+        assertThat(values(response)).containsExactly("hub", "human");
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void asksBackendIfNoCachedValueMatches() {
+        cache.suggest(request("h"), backend(response("h", 0L, "host1")));
+        final SuggestionResponse response = cache.suggest(request("hx"), backend(response("hx", null, "hex")));
+
+        assertThat(values(response)).containsExactly("hex");
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheErrors() {
+        final SuggestionResponse error = SuggestionResponse.forError("source", "h", SuggestionError.create("error", "reason"));
+        cache.suggest(request("h"), backend(error));
+        cache.suggest(request("h"), backend(error));
+
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    private Supplier<SuggestionResponse> backend(SuggestionResponse response) {
+        return () -> {
+            backendCalls.incrementAndGet();
+            return response;
+        };
+    }
+
+    private static SuggestionRequest request(String input) {
+        return SuggestionRequest.builder()
+                .field("source")
+                .fieldType(SuggestionFieldType.TEXTUAL)
+                .input(input)
+                .streams(Set.of("stream1"))
+                .timerange(RelativeRange.create(300))
+                .size(10)
+                .build();
+    }
+
+    private static SuggestionResponse response(String input, Long sumOtherDocsCount, String... values) {
+        return SuggestionResponse.forSuggestions("source", input,
+                Arrays.stream(values).map(value -> new SuggestionEntry(value, 1L)).toList(), sumOtherDocsCount);
+    }
+
+    private static List<String> values(SuggestionResponse response) {
+        return response.suggestions().stream().map(SuggestionEntry::getValue).toList();
+    }
+}
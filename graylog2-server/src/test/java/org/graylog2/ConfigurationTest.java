@@ -174,6 +174,22 @@ public class ConfigurationTest {
                 .hasMessageContaining("needs to be greater than");
     }
 
+    @Test
+    public void sessionTouchWriteIntervalAcceptsZero() throws Exception {
+        final Map<String, String> validProperties = Map.of("session_touch_write_interval", "0s");
+
+        final Configuration configuration = ConfigurationHelper.initConfig(new Configuration(), validProperties, temporaryFolder);
+        assertThat(configuration.getSessionTouchWriteInterval().toMilliseconds()).isZero();
+    }
+
+    @Test
+    public void sessionTouchWriteIntervalAcceptsPositiveDuration() throws Exception {
+        final Map<String, String> validProperties = Map.of("session_touch_write_interval", "30s");
+
+        final Configuration configuration = ConfigurationHelper.initConfig(new Configuration(), validProperties, temporaryFolder);
+        assertThat(configuration.getSessionTouchWriteInterval().toSeconds()).isEqualTo(30L);
+    }
+
     @Test
     public void isLeaderByDefault() throws Exception {
         final Configuration configuration = ConfigurationHelper.initConfig(new Configuration(), Collections.emptyMap(), temporaryFolder);
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.buffers.processors;
+
+import com.codahale.metrics.MetricRegistry;
+import org.graylog2.Configuration;
+import org.graylog2.outputs.OutputRouter;
+import org.graylog2.plugin.Message;
+import org.graylog2.plugin.ServerStatus;
+import org.graylog2.plugin.TestMessageFactory;
+import org.graylog2.plugin.Tools;
+import org.graylog2.plugin.buffers.MessageEvent;
+import org.graylog2.plugin.outputs.MessageOutput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutputBufferProcessorTest {
+    private static final String SUBMITTED_METRIC_NAME = name(OutputBufferProcessor.class, "executor-service", "submitted");
+
+    @Mock
+    private Configuration configuration;
+    @Mock
+    private ServerStatus serverStatus;
+    @Mock
+    private OutputRouter outputRouter;
+    @Mock
+    private MessageOutput defaultOutput;
+    @Mock
+    private MessageOutput streamOutput;
+
+    private final TestMessageFactory messageFactory = new TestMessageFactory();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private OutputBufferProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        when(configuration.getOutputBufferProcessorThreadsCorePoolSize()).thenReturn(1);
+        when(serverStatus.getDetailedMessageRecordingStrategy()).thenReturn(ServerStatus.MessageDetailRecordingStrategy.NEVER);
+        when(defaultOutput.isRunning()).thenReturn(true);
+
+        processor = new OutputBufferProcessor(configuration, metricRegistry, serverStatus, outputRouter, defaultOutput, 0);
+    }
+
+    @Test
+    void writesToDefaultOutputOnCallingThreadWithoutStreamOutputs() throws Exception {
+        final Message message = messageFactory.createMessage("message", "source", Tools.nowUTC());
+        when(outputRouter.getStreamOutputsForMessage(message)).thenReturn(Set.of());
+
+        final AtomicReference<Thread> writerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            writerThread.set(Thread.currentThread());
+            return null;
+        }).when(defaultOutput).write(message);
+
+        processor.onEvent(event(message));
+
+        verify(defaultOutput).write(message);
+        assertThat(writerThread.get()).isSameAs(Thread.currentThread());
+        assertThat(metricRegistry.meter(SUBMITTED_METRIC_NAME).getCount()).isZero();
+    }
+
+    @Test
+    void waitsForStreamOutputs() throws Exception {
+        final Message message = messageFactory.createMessage("message", "source", Tools.nowUTC());
+        when(outputRouter.getStreamOutputsForMessage(message)).thenReturn(Set.of(streamOutput));
+        when(streamOutput.isRunning()).thenReturn(true);
+        when(configuration.getOutputModuleTimeout()).thenReturn(TimeUnit.SECONDS.toMillis(10));
+
+        final AtomicReference<Thread> writerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            // finish well after the default output, the processor has to wait for us
+            Thread.sleep(200);
+            writerThread.set(Thread.currentThread());
+            return null;
+        }).when(streamOutput).write(message);
+
+        processor.onEvent(event(message));
+
+        verify(defaultOutput).write(message);
+        assertThat(writerThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+        assertThat(metricRegistry.meter(SUBMITTED_METRIC_NAME).getCount()).isEqualTo(1);
+    }
+
+    private static MessageEvent event(Message message) {
+        final MessageEvent event = new MessageEvent();
+        event.setMessage(message);
+        return event;
+    }
+}
@@ -23,11 +23,20 @@ import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.mongodb.DB;
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
 import com.mongodb.DBCollection;
 import com.mongodb.DBObject;
 import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
 import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.graylog.testing.mongodb.MongoDBExtension;
 import org.graylog2.bindings.providers.MongoJackObjectMapperProvider;
 import org.graylog2.database.MongoCollections;
@@ -52,13 +61,20 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -353,6 +369,103 @@ public class ClusterEventServiceTest {
         assertThat(constructorArgument).isNull();
     }
 
+    @Test
+    public void changeStreamSkipsCaughtUpEventsOnly() {
+        saveEvent(TIME.toDate(), SimpleEvent.class.getCanonicalName(), ImmutableMap.of("payload", "caught-up"));
+        final ClusterEvent caughtUpEvent = clusterEventService.eventsIterable(initialOffset).first();
+        // committed after the catch-up, but its timestamp is older than the last processed one
+        final ClusterEvent lateEvent = clusterEvent(TIME.minusMillis(500), "late");
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        clusterEventService = spy(clusterEventService);
+        doAnswer(invocation -> running.get()).when(clusterEventService).isRunning();
+        doReturn(changeStream(running, change(caughtUpEvent), change(lateEvent))).when(clusterEventService).openChangeStream();
+
+        assertThat(clusterEventService.readEvents()).isTrue();
+
+        verify(serverEventBus, times(1)).post(new SimpleEvent("caught-up"));
+        verify(serverEventBus, times(1)).post(new SimpleEvent("late"));
+        verify(serverEventBus, times(2)).post(any());
+    }
+
+    @Test
+    public void fallsBackToTailingWithoutChangeStreamSupport() {
+        final SimpleEventHandler handler = new SimpleEventHandler();
+        serverEventBus.register(handler);
+        saveEvent(TIME.toDate(), SimpleEvent.class.getCanonicalName(), ImmutableMap.of("payload", "test"));
+
+        clusterEventService = spy(clusterEventService);
+        doAnswer(invocation -> handler.invocations.get() == 0).when(clusterEventService).isRunning();
+        doThrow(mongoCommandException(40573)).when(clusterEventService).openChangeStream();
+
+        // the first attempt switches to tailing and asks for an immediate retry
+        assertThat(clusterEventService.readEvents()).isFalse();
+        assertThat(clusterEventService.readEvents()).isTrue();
+
+        verify(clusterEventService, times(1)).openChangeStream();
+        verify(serverEventBus, times(1)).post(new SimpleEvent("test"));
+    }
+
+    @Test
+    public void catchesUpFromOffsetWhenChangeStreamHistoryIsLost() {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        clusterEventService = spy(clusterEventService);
+        doAnswer(invocation -> running.get()).when(clusterEventService).isRunning();
+        doReturn(changeStream(running, change(clusterEvent(TIME.plusSeconds(1), "streamed"))))
+                .doThrow(mongoCommandException(286))
+                .doReturn(changeStream(running))
+                .when(clusterEventService).openChangeStream();
+
+        clusterEventService.readEvents();
+        running.set(true);
+        // the stored resume token is no longer in the oplog
+        clusterEventService.readEvents();
+        running.set(true);
+        clusterEventService.readEvents();
+
+        verify(serverEventBus, times(1)).post(new SimpleEvent("streamed"));
+        // once when starting and once after the resume token has been dropped
+        verify(clusterEventService, times(2)).eventsIterable(any());
+    }
+
+    private static ClusterEvent clusterEvent(DateTime timestamp, String payload) {
+        return ClusterEvent.create(new ObjectId().toHexString(), timestamp.toDate(), "TEST-PRODUCER",
+                SimpleEvent.class.getCanonicalName(), ImmutableMap.of("payload", payload));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<ClusterEvent> change(ClusterEvent clusterEvent) {
+        final ChangeStreamDocument<ClusterEvent> change = mock(ChangeStreamDocument.class);
+        when(change.getFullDocument()).thenReturn(clusterEvent);
+        when(change.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString(clusterEvent.id())));
+        return change;
+    }
+
+    /**
+     * A change stream that returns the given changes and stops the service afterwards.
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<ChangeStreamDocument<ClusterEvent>> changeStream(AtomicBoolean running,
+                                                                              ChangeStreamDocument<ClusterEvent>... changes) {
+        final MongoCursor<ChangeStreamDocument<ClusterEvent>> cursor = mock(MongoCursor.class);
+        final Iterator<ChangeStreamDocument<ClusterEvent>> remaining = List.of(changes).iterator();
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            if (remaining.hasNext()) {
+                return remaining.next();
+            }
+            running.set(false);
+            return null;
+        });
+        return cursor;
+    }
+
+    private static MongoCommandException mongoCommandException(int code) {
+        return new MongoCommandException(new BsonDocument("ok", new BsonDouble(0))
+                .append("code", new BsonInt32(code))
+                .append("errmsg", new BsonString("error")), new ServerAddress());
+    }
+
     @ExtendWith(MongoDBExtension.class)
     public static class SimpleEventHandler {
         final AtomicInteger invocations = new AtomicInteger();
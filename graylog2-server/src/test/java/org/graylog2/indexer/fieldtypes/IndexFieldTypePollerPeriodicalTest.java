@@ -24,6 +24,7 @@ import org.graylog2.indexer.cluster.Cluster;
 import org.graylog2.indexer.indexset.IndexSetConfig;
 import org.graylog2.indexer.indexset.IndexSetService;
 import org.graylog2.indexer.indices.Indices;
+import org.graylog2.indexer.indices.events.IndicesDeletedEvent;
 import org.graylog2.indexer.retention.strategies.NoopRetentionStrategyConfig;
 import org.graylog2.indexer.rotation.strategies.MessageCountRotationStrategyConfig;
 import org.graylog2.plugin.ServerStatus;
@@ -35,6 +36,7 @@ import org.mockito.stubbing.Answer;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -46,6 +48,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 class IndexFieldTypePollerPeriodicalTest {
@@ -139,4 +142,12 @@ class IndexFieldTypePollerPeriodicalTest {
 
         verify(indexFieldTypePoller, times(1)).pollIndex(anyString(), anyString());
     }
+
+    @Test
+    void removesFieldTypesOfDeletedIndicesAtOnce() {
+        periodical.handleIndexDeletion(IndicesDeletedEvent.create(Set.of("test_0", "test_1")));
+
+        verify(indexFieldTypesService, times(1)).deleteAll(Set.of("test_0", "test_1"));
+        verifyNoMoreInteractions(indexFieldTypesService);
+    }
 }
@@ -17,15 +17,19 @@
 package org.graylog2.indexer.fieldtypes;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.Subscribe;
 import org.graylog.testing.mongodb.MongoDBExtension;
 import org.graylog2.bindings.providers.MongoJackObjectMapperProvider;
 import org.graylog2.database.MongoCollections;
+import org.graylog2.events.ClusterEventBus;
+import org.graylog2.indexer.fieldtypes.events.IndexFieldTypesUpdatedEvent;
 import org.graylog2.shared.bindings.providers.ObjectMapperProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -36,11 +40,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ExtendWith(MongoDBExtension.class)
 public class IndexFieldTypesServiceTest {
 
+    private final List<IndexFieldTypesUpdatedEvent> updatedEvents = new ArrayList<>();
     private IndexFieldTypesService dbService;
 
     @BeforeEach
     public void setUp(MongoCollections mongoCollections) throws Exception {
-        this.dbService = new IndexFieldTypesService(mongoCollections);
+        final ClusterEventBus clusterEventBus = new ClusterEventBus();
+        clusterEventBus.registerClusterEventSubscriber(this);
+        this.dbService = new IndexFieldTypesService(mongoCollections, clusterEventBus);
+    }
+
+    @Subscribe
+    public void handleIndexFieldTypesUpdated(IndexFieldTypesUpdatedEvent event) {
+        updatedEvents.add(event);
     }
 
     private IndexFieldTypesDTO createDto(String indexName, String indexSetId, Set<FieldTypeDTO> fields) {
@@ -224,4 +236,36 @@ public class IndexFieldTypesServiceTest {
                 of("graylog_1", "graylog_3", "graylog_0")
         ).size()).isEqualTo(3);
     }
+
+    @Test
+    public void upsertAllPostsSingleUpdateEvent() {
+        dbService.upsertAll(List.of(
+                createDto("graylog_0", Collections.emptySet()),
+                createDto("graylog_1", Collections.emptySet())
+        ));
+
+        assertThat(dbService.findAll()).extracting(IndexFieldTypesDTO::indexName)
+                .containsExactlyInAnyOrder("graylog_0", "graylog_1");
+        assertThat(updatedEvents).containsExactly(IndexFieldTypesUpdatedEvent.create("graylog_0", "graylog_1"));
+    }
+
+    @Test
+    public void deleteAllPostsSingleUpdateEventForDeletedIndices() {
+        final IndexFieldTypesDTO savedDto1 = dbService.save(createDto("graylog_0", Collections.emptySet()));
+        dbService.save(createDto("graylog_1", Collections.emptySet()));
+        dbService.save(createDto("graylog_2", Collections.emptySet()));
+        updatedEvents.clear();
+
+        dbService.deleteAll(List.of(savedDto1.id(), "graylog_1", "graylog_3"));
+
+        assertThat(dbService.findAll()).extracting(IndexFieldTypesDTO::indexName).containsExactly("graylog_2");
+        assertThat(updatedEvents).containsExactly(IndexFieldTypesUpdatedEvent.create("graylog_0", "graylog_1"));
+    }
+
+    @Test
+    public void deleteAllDoesNotPostUpdateEventWithoutDeletedIndices() {
+        dbService.deleteAll(List.of("graylog_0"));
+
+        assertThat(updatedEvents).isEmpty();
+    }
 }
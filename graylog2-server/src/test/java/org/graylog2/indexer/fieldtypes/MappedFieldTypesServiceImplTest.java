@@ -18,13 +18,16 @@ package org.graylog2.indexer.fieldtypes;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.EventBus;
 import org.graylog.plugins.formatting.units.fields.FieldUnitObtainer;
 import org.graylog.plugins.views.search.elasticsearch.IndexLookup;
 import org.graylog.plugins.views.search.rest.MappedFieldTypeDTO;
 import org.graylog2.Configuration;
+import org.graylog2.indexer.fieldtypes.events.IndexFieldTypesUpdatedEvent;
 import org.graylog2.plugin.indexer.searches.timeranges.AbsoluteRange;
 import org.graylog2.plugin.indexer.searches.timeranges.RelativeRange;
 import org.graylog2.plugin.indexer.searches.timeranges.TimeRange;
+import org.graylog2.utilities.FakeTicker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +38,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -72,14 +76,14 @@ public class MappedFieldTypesServiceImplTest {
     public void setUp() throws Exception {
         final Configuration withStreamAwarenessOff = spy(new Configuration());
         doReturn(false).when(withStreamAwarenessOff).maintainsStreamAwareFieldTypes();
-        this.mappedFieldTypesService = new MappedFieldTypesServiceImpl(withStreamAwarenessOff, indexFieldTypesService, new FieldTypeMapper(), indexLookup, fieldUnitObtainer);
+        this.mappedFieldTypesService = new MappedFieldTypesServiceImpl(withStreamAwarenessOff, indexFieldTypesService, new FieldTypeMapper(), indexLookup, fieldUnitObtainer, new EventBus());
     }
 
     @Test
     public void testDifferenceBetweenStreamAwareAndUnawareFieldTypeRetrieval() {
         final Configuration withStreamAwarenessOn = spy(new Configuration());
         doReturn(true).when(withStreamAwarenessOn).maintainsStreamAwareFieldTypes();
-        MappedFieldTypesServiceImpl streamAwareMappedFieldTypesService = new MappedFieldTypesServiceImpl(withStreamAwarenessOn, indexFieldTypesService, new FieldTypeMapper(), indexLookup, fieldUnitObtainer);
+        MappedFieldTypesServiceImpl streamAwareMappedFieldTypesService = new MappedFieldTypesServiceImpl(withStreamAwarenessOn, indexFieldTypesService, new FieldTypeMapper(), indexLookup, fieldUnitObtainer, new EventBus());
 
         final List<IndexFieldTypesDTO> fieldTypes = ImmutableList.of(
                 createIndexTypes(
@@ -193,6 +197,52 @@ public class MappedFieldTypesServiceImplTest {
         assertThat(timeRangeCaptor.getValue()).isEqualTo(AbsoluteRange.create("2010-05-17T23:28:14.000+02:00", "2021-05-05T12:09:23.213+02:00"));
     }
 
+    @Test
+    public void reusesFieldTypesUntilTheyChange() {
+        final Configuration withStreamAwarenessOff = spy(new Configuration());
+        doReturn(false).when(withStreamAwarenessOff).maintainsStreamAwareFieldTypes();
+        final EventBus eventBus = new EventBus();
+        final MappedFieldTypesServiceImpl service = new MappedFieldTypesServiceImpl(withStreamAwarenessOff, indexFieldTypesService, new FieldTypeMapper(), indexLookup, fieldUnitObtainer, eventBus);
+        final IndexFieldTypesDTO fieldTypes = createIndexTypes("deadbeef", "testIndex",
+                FieldTypeDTO.builder().fieldName("field1").physicalType("keyword").build());
+        when(indexFieldTypesService.findByIndexNames(Set.of("testIndex"))).thenReturn(List.of(fieldTypes));
+        when(indexLookup.indexNamesForStreamsInTimeRange(Collections.singleton("stream1"), RelativeRange.allTime())).thenReturn(ImmutableSet.of("testIndex"));
+
+        service.fieldTypesByStreamIds(Collections.singleton("stream1"), RelativeRange.allTime());
+        final Set<MappedFieldTypeDTO> result = service.singleFieldTypeByStreamIds(Collections.singleton("stream1"), RelativeRange.allTime(), "field1");
+
+        assertThat(result).containsExactly(MappedFieldTypeDTO.create("field1", FieldTypes.Type.createType("string", ImmutableSet.of("enumerable"))));
+        verify(indexFieldTypesService, times(1)).findByIndexNames(Set.of("testIndex"));
+
+        eventBus.post(IndexFieldTypesUpdatedEvent.create("testIndex"));
+        service.fieldTypesByStreamIds(Collections.singleton("stream1"), RelativeRange.allTime());
+
+        verify(indexFieldTypesService, times(2)).findByIndexNames(Set.of("testIndex"));
+    }
+
+    @Test
+    public void reloadsFieldTypesAfterExpiry() {
+        final Configuration withStreamAwarenessOff = spy(new Configuration());
+        doReturn(false).when(withStreamAwarenessOff).maintainsStreamAwareFieldTypes();
+        final FakeTicker ticker = new FakeTicker(Duration.ZERO);
+        final MappedFieldTypesServiceImpl service = new MappedFieldTypesServiceImpl(withStreamAwarenessOff, indexFieldTypesService, new FieldTypeMapper(), indexLookup, fieldUnitObtainer, new EventBus(), ticker);
+        final IndexFieldTypesDTO fieldTypes = createIndexTypes("deadbeef", "testIndex",
+                FieldTypeDTO.builder().fieldName("field1").physicalType("keyword").build());
+        when(indexFieldTypesService.findByIndexNames(Set.of("testIndex"))).thenReturn(List.of(fieldTypes));
+        when(indexLookup.indexNamesForStreamsInTimeRange(Collections.singleton("stream1"), RelativeRange.allTime())).thenReturn(ImmutableSet.of("testIndex"));
+
+        service.fieldTypesByStreamIds(Collections.singleton("stream1"), RelativeRange.allTime());
+        ticker.advance(Duration.ofSeconds(9));
+        service.fieldTypesByStreamIds(Collections.singleton("stream1"), RelativeRange.allTime());
+
+        verify(indexFieldTypesService, times(1)).findByIndexNames(Set.of("testIndex"));
+
+        ticker.advance(Duration.ofSeconds(1));
+        service.fieldTypesByStreamIds(Collections.singleton("stream1"), RelativeRange.allTime());
+
+        verify(indexFieldTypesService, times(2)).findByIndexNames(Set.of("testIndex"));
+    }
+
     private IndexFieldTypesDTO createIndexTypes(String indexId, String indexName, FieldTypeDTO... fieldTypes) {
         return IndexFieldTypesDTO.create(indexId, indexName, java.util.stream.Stream.of(fieldTypes).collect(Collectors.toSet()));
     }
@@ -19,6 +19,7 @@ package org.graylog2.indexer.fieldtypes;
 import com.google.common.collect.ImmutableSet;
 import org.graylog.testing.mongodb.MongoDBExtension;
 import org.graylog2.database.MongoCollections;
+import org.graylog2.events.ClusterEventBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,7 +39,7 @@ public class MongoFieldTypeLookupTest {
 
     @BeforeEach
     public void setUp(MongoCollections mongoCollections) throws Exception {
-        this.dbService = new IndexFieldTypesService(mongoCollections);
+        this.dbService = new IndexFieldTypesService(mongoCollections, new ClusterEventBus());
         this.lookup = new MongoFieldTypeLookup(dbService, new FieldTypeMapper());
     }
 
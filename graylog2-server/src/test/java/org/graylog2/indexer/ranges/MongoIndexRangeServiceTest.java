@@ -25,6 +25,7 @@ import org.graylog2.audit.NullAuditEventSender;
 import org.graylog2.bindings.providers.MongoJackObjectMapperProvider;
 import org.graylog2.database.MongoCollections;
 import org.graylog2.database.NotFoundException;
+import org.graylog2.events.ClusterEventBus;
 import org.graylog2.indexer.ElasticsearchException;
 import org.graylog2.indexer.indexset.registry.IndexSetRegistry;
 import org.graylog2.indexer.indices.HealthStatus;
@@ -32,26 +33,40 @@ import org.graylog2.indexer.indices.Indices;
 import org.graylog2.indexer.indices.events.IndicesClosedEvent;
 import org.graylog2.indexer.indices.events.IndicesDeletedEvent;
 import org.graylog2.indexer.indices.events.IndicesReopenedEvent;
+import org.graylog2.indexer.ranges.events.IndexRangesUpdatedEvent;
 import org.graylog2.indexer.searches.IndexRangeStats;
 import org.graylog2.plugin.system.SimpleNodeId;
 import org.graylog2.shared.bindings.providers.ObjectMapperProvider;
+import org.graylog2.utilities.FakeTicker;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,15 +81,23 @@ public class MongoIndexRangeServiceTest {
     private Indices indices;
     @Mock
     private IndexSetRegistry indexSetRegistry;
+    @Mock
+    private ClusterEventBus clusterEventBus;
+    @Mock
+    private ScheduledExecutorService scheduler;
+    private final FakeTicker ticker = new FakeTicker(Duration.ZERO);
     private EventBus localEventBus;
+    private MongoCollections mongoCollections;
     private MongoIndexRangeService indexRangeService;
 
     @BeforeEach
     public void setUp(MongoCollections mongoCollections) throws Exception {
+        this.mongoCollections = mongoCollections;
         localEventBus = new EventBus("local-event-bus");
         indexRangeService = new MongoIndexRangeService(
                 mongoCollections, indices, indexSetRegistry,
-                new NullAuditEventSender(), new SimpleNodeId("5ca1ab1e-0000-4000-a000-000000000000"), localEventBus);
+                new NullAuditEventSender(), new SimpleNodeId("5ca1ab1e-0000-4000-a000-000000000000"), localEventBus,
+                clusterEventBus, scheduler, ticker, Set.of("source"), 2);
     }
 
     @Test
@@ -191,6 +214,32 @@ public class MongoIndexRangeServiceTest {
         Assertions.assertThat(indexRange.calculatedAt()).isEqualToIgnoringHours(DateTime.now(DateTimeZone.UTC));
     }
 
+    @Test
+    public void calculateRangeRecordsFieldValues() throws Exception {
+        final String index = "graylog";
+        final DateTime min = new DateTime(2015, 1, 1, 1, 0, DateTimeZone.UTC);
+        final DateTime max = new DateTime(2015, 1, 1, 5, 0, DateTimeZone.UTC);
+        when(indices.waitForRecovery(index)).thenReturn(HealthStatus.Green);
+        when(indices.indexRangeStatsOfIndex(index)).thenReturn(IndexRangeStats.create(min, max));
+        when(indices.fieldValuesOfIndex(index, Set.of("source"), 2)).thenReturn(Map.of("source", List.of("host1", "host2")));
+
+        final IndexRange indexRange = indexRangeService.calculateRange(index);
+
+        assertThat(indexRange.fieldValues()).containsExactly(Map.entry("source", List.of("host1", "host2")));
+    }
+
+    @Test
+    public void calculateRangeRecordsDocumentCountOnlyForIndicesNotBeingWritten() throws Exception {
+        final DateTime min = new DateTime(2015, 1, 1, 1, 0, DateTimeZone.UTC);
+        final DateTime max = new DateTime(2015, 1, 1, 5, 0, DateTimeZone.UTC);
+        when(indices.waitForRecovery(anyString())).thenReturn(HealthStatus.Green);
+        when(indices.indexRangeStatsOfIndex(anyString())).thenReturn(IndexRangeStats.create(min, max, null, 42L));
+        when(indexSetRegistry.isCurrentWriteIndex("graylog_1")).thenReturn(true);
+
+        assertThat(indexRangeService.calculateRange("graylog_0").documentCount()).isEqualTo(42L);
+        assertThat(indexRangeService.calculateRange("graylog_1").documentCount()).isNull();
+    }
+
     @Test
     public void calculateRangeFailsIfIndexIsNotHealthy() throws Exception {
         assertThrows(ElasticsearchException.class, () -> {
@@ -260,6 +309,70 @@ public class MongoIndexRangeServiceTest {
         assertThat(updatedRange.end()).isEqualTo(max.plusYears(1));
     }
 
+    @Test
+    @MongoDBFixtures("MongoIndexRangeServiceTest-distinct.json")
+    public void findReflectsSavedAndRemovedIndexRanges() throws Exception {
+        final DateTime begin = new DateTime(2016, 1, 1, 0, 0, DateTimeZone.UTC);
+        final DateTime end = new DateTime(2016, 1, 2, 0, 0, DateTimeZone.UTC);
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect");
+
+        indexRangeService.save(MongoIndexRange.create("graylog_8", begin, end, end, 42));
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect", "graylog_8");
+
+        indexRangeService.remove("graylog_8");
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect");
+    }
+
+    @Test
+    @MongoDBFixtures("MongoIndexRangeServiceTest-distinct.json")
+    public void findReflectsIndexRangesUpdatedOnOtherNodes() throws Exception {
+        final DateTime begin = new DateTime(2016, 1, 1, 0, 0, DateTimeZone.UTC);
+        final DateTime end = new DateTime(2016, 1, 2, 0, 0, DateTimeZone.UTC);
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect");
+
+        mongoCollections.nonEntityCollection("index_ranges", MongoIndexRange.class)
+                .insertOne(MongoIndexRange.create("graylog_8", begin, end, end, 42));
+        localEventBus.post(IndexRangesUpdatedEvent.create("graylog_8"));
+
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect", "graylog_8");
+    }
+
+    @Test
+    @MongoDBFixtures("MongoIndexRangeServiceTest-distinct.json")
+    public void findReloadsIndexRangesAfterExpiry() throws Exception {
+        final DateTime begin = new DateTime(2016, 1, 1, 0, 0, DateTimeZone.UTC);
+        final DateTime end = new DateTime(2016, 1, 2, 0, 0, DateTimeZone.UTC);
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect");
+
+        // updated on another node, but the cluster event got lost
+        mongoCollections.nonEntityCollection("index_ranges", MongoIndexRange.class)
+                .insertOne(MongoIndexRange.create("graylog_8", begin, end, end, 42));
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect");
+
+        ticker.advance(Duration.ofSeconds(10));
+        assertThat(indexRangeService.find(begin, end)).extracting(IndexRange::indexName).containsExactly("graylog_deflect", "graylog_8");
+    }
+
+    @Test
+    public void updatesAreAnnouncedWithOneClusterEvent() throws Exception {
+        final DateTime begin = new DateTime(2016, 1, 1, 0, 0, DateTimeZone.UTC);
+        final DateTime end = new DateTime(2016, 1, 2, 0, 0, DateTimeZone.UTC);
+
+        indexRangeService.save(MongoIndexRange.create("graylog_1", begin, end, end, 42));
+        indexRangeService.save(MongoIndexRange.create("graylog_2", begin, end, end, 42));
+        indexRangeService.remove("graylog_1");
+
+        final ArgumentCaptor<Runnable> postEvent = ArgumentCaptor.captor();
+        verify(scheduler, times(1)).schedule(postEvent.capture(), anyLong(), any(TimeUnit.class));
+        verifyNoInteractions(clusterEventBus);
+
+        postEvent.getValue().run();
+        verify(clusterEventBus).post(IndexRangesUpdatedEvent.create("graylog_1", "graylog_2"));
+
+        indexRangeService.save(MongoIndexRange.create("graylog_3", begin, end, end, 42));
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
     @Test
     public void savePersistsIndexRange() throws Exception {
         final String indexName = "graylog";
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.indexer.ranges;
+
+import org.graylog.scheduler.system.SystemJobContext;
+import org.graylog.scheduler.system.SystemJobResult;
+import org.graylog2.cluster.lock.AlreadyLockedException;
+import org.graylog2.cluster.lock.ClusterLockResources;
+import org.graylog2.cluster.lock.RefreshingLockService;
+import org.graylog2.indexer.indexset.IndexSet;
+import org.graylog2.indexer.indexset.IndexSetService;
+import org.graylog2.indexer.indexset.registry.IndexSetRegistry;
+import org.graylog2.shared.system.activities.ActivityWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RebuildIndexRangesJobTest {
+    @Mock
+    private ActivityWriter activityWriter;
+    @Mock
+    private IndexRangeService indexRangeService;
+    @Mock
+    private IndexSetRegistry indexSetRegistry;
+    @Mock
+    private IndexSetService indexSetService;
+    @Mock
+    private RefreshingLockService.Factory lockServiceFactory;
+    @Mock
+    private RefreshingLockService lockService;
+    @Mock
+    private IndexSet indexSet;
+    @Mock
+    private SystemJobContext ctx;
+
+    private RebuildIndexRangesJob job;
+
+    @BeforeEach
+    void setUp() {
+        when(indexSet.getManagedIndices()).thenReturn(new String[]{"graylog_0", "graylog_1", "graylog_2"});
+        when(indexSetRegistry.getAllBasicIndexSets()).thenReturn(Set.of(indexSet));
+        when(lockServiceFactory.create()).thenReturn(lockService);
+        when(indexRangeService.calculateRangeAndSave(anyString())).thenReturn(true);
+
+        job = new RebuildIndexRangesJob(activityWriter, indexRangeService, indexSetRegistry, indexSetService, Set.of(),
+                lockServiceFactory);
+    }
+
+    @Test
+    void calculatesRangesOfAllIndices() throws Exception {
+        final SystemJobResult result = job.execute(RebuildIndexRangesJob.rebuildAll(), ctx);
+
+        assertThat(result).isEqualTo(SystemJobResult.success());
+        verify(indexRangeService).calculateRangeAndSave("graylog_0");
+        verify(indexRangeService).calculateRangeAndSave("graylog_1");
+        verify(indexRangeService).calculateRangeAndSave("graylog_2");
+        verify(ctx).updateProgress(3, 3);
+    }
+
+    @Test
+    void retriesWhenAnIndexIsLockedByAnotherJob() throws Exception {
+        doThrow(new AlreadyLockedException("locked"))
+                .when(lockService).acquireAndKeepLock(eq(ClusterLockResources.indexRangeRecalculation("graylog_1")), anyString());
+
+        final SystemJobResult result = job.execute(RebuildIndexRangesJob.rebuildAll(), ctx);
+
+        assertThat(result).isEqualTo(SystemJobResult.withRetry(Duration.ofSeconds(5), Integer.MAX_VALUE));
+        verify(indexRangeService, never()).calculateRangeAndSave("graylog_1");
+    }
+
+    @Test
+    void stopsCalculatingWhenCancelled() throws Exception {
+        when(ctx.isCancelled()).thenReturn(true);
+
+        final SystemJobResult result = job.execute(RebuildIndexRangesJob.rebuildAll(), ctx);
+
+        assertThat(result).isEqualTo(SystemJobResult.success());
+        verify(indexRangeService, never()).calculateRangeAndSave(anyString());
+    }
+
+    @Test
+    void calculatesRemainingIndicesWhenOneFails() throws Exception {
+        when(indexRangeService.calculateRangeAndSave("graylog_1")).thenThrow(new IllegalStateException("boom"));
+
+        final SystemJobResult result = job.execute(RebuildIndexRangesJob.rebuildAll(), ctx);
+
+        assertThat(result).isEqualTo(SystemJobResult.withError());
+        verify(indexRangeService).calculateRangeAndSave("graylog_0");
+        verify(indexRangeService).calculateRangeAndSave("graylog_2");
+    }
+
+    @Test
+    void retriesWhenAnIndexIsLockedAndAnotherOneFails() throws Exception {
+        when(indexRangeService.calculateRangeAndSave("graylog_1")).thenThrow(new IllegalStateException("boom"));
+        doThrow(new AlreadyLockedException("locked"))
+                .when(lockService).acquireAndKeepLock(eq(ClusterLockResources.indexRangeRecalculation("graylog_2")), anyString());
+
+        final SystemJobResult result = job.execute(RebuildIndexRangesJob.rebuildAll(), ctx);
+
+        assertThat(result).isEqualTo(SystemJobResult.withRetry(Duration.ofSeconds(5), Integer.MAX_VALUE));
+    }
+}
@@ -42,6 +42,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -58,6 +59,7 @@ class TimeSizeOptimizingCalculatorTest {
             .build();
     private static final Size SHARD_SIZE_MIN_MAX = Size.gigabytes(20);
     private static final String INDEX_0 = "index_0";
+    private static final String INDEX_1 = "index_1";
     private static final Period ROTATION_PERIOD = Period.days(1);
     @Mock
     private Indices indices;
@@ -85,6 +87,7 @@ class TimeSizeOptimizingCalculatorTest {
                 clusterAdapter
         );
 
+        lenient().when(indexSetConfig.indexPrefix()).thenReturn("index");
         lenient().when(indexSetConfig.shards()).thenReturn(1);
         when(indices.numberOfMessages(anyString())).thenReturn(10L);
     }
@@ -165,6 +168,39 @@ class TimeSizeOptimizingCalculatorTest {
         assertThat(result.getDescription()).contains("exceeds maximum size");
     }
 
+    @Test
+    void shouldRotateWhenProjectedToExceedMaximumSizeBeforeNextCheck() {
+        when(indices.indexCreationDate(INDEX_0)).thenReturn(Optional.of(clock.nowUTC()));
+        when(indices.getStoreSizeInBytes(INDEX_0)).thenReturn(
+                Optional.of(SHARD_SIZE_MIN_MAX.toBytes() - Size.megabytes(2560).toBytes()),
+                Optional.of(SHARD_SIZE_MIN_MAX.toBytes() - Size.gigabytes(1).toBytes()));
+
+        assertThat(underTest.calculate(INDEX_0, DEFAULT_LIFETIME, indexSetConfig).shouldRotate()).isFalse();
+
+        clock.plus(10, TimeUnit.SECONDS);
+        final IndexRotator.Result result = underTest.calculate(INDEX_0, DEFAULT_LIFETIME, indexSetConfig);
+
+        assertThat(result.shouldRotate()).isTrue();
+        assertThat(result.getDescription()).contains("projected to reach 20.5 GiB before the next check");
+    }
+
+    @Test
+    void shouldNotProjectSizeFromPreviousWriteIndex() {
+        when(indices.indexCreationDate(anyString())).thenReturn(Optional.of(clock.nowUTC()));
+        when(indices.getStoreSizeInBytes(INDEX_0)).thenReturn(
+                Optional.of(SHARD_SIZE_MIN_MAX.toBytes() - Size.megabytes(2560).toBytes()));
+        when(indices.getStoreSizeInBytes(INDEX_1)).thenReturn(
+                Optional.of(SHARD_SIZE_MIN_MAX.toBytes() - Size.gigabytes(1).toBytes()));
+
+        assertThat(underTest.calculate(INDEX_0, DEFAULT_LIFETIME, indexSetConfig).shouldRotate()).isFalse();
+
+        // the index set has been rotated manually in the meantime
+        clock.plus(10, TimeUnit.SECONDS);
+        final IndexRotator.Result result = underTest.calculate(INDEX_1, DEFAULT_LIFETIME, indexSetConfig);
+
+        assertThat(result.shouldRotate()).isFalse();
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"2020-12-01T09:00:00Z", "now"})
     void shouldRotateWhenRightSizedAndOverRotationPeriod(String startDate) {
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.inputs.transports;
+
+import com.google.common.eventbus.EventBus;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.common.TopicPartition;
+import org.graylog2.plugin.LocalMetricRegistry;
+import org.graylog2.plugin.ServerStatus;
+import org.graylog2.plugin.configuration.Configuration;
+import org.graylog2.plugin.inputs.MessageInput;
+import org.graylog2.plugin.journal.RawMessage;
+import org.graylog2.plugin.lifecycles.Lifecycle;
+import org.graylog2.plugin.system.NodeId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class KafkaTransportTest {
+    private static final String TOPIC = "graylog-messages";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private final MessageInput input = mock(MessageInput.class);
+    private final RecordingConsumer consumer = new RecordingConsumer();
+    private final CountDownLatch consumersStopped = new CountDownLatch(1);
+    private KafkaTransport transport;
+
+    @BeforeEach
+    public void setUp() {
+        final Configuration configuration = new Configuration(Map.of(
+                KafkaTransport.CK_THREADS, 1,
+                KafkaTransport.CK_TOPIC_FILTER, "graylog-.*"));
+        final EventBus serverEventBus = new EventBus();
+        transport = new KafkaTransport(configuration, new LocalMetricRegistry(), mock(NodeId.class), serverEventBus,
+                mock(ServerStatus.class), mock(ScheduledExecutorService.class));
+        // every test stops the transport once, which unregisters it again
+        serverEventBus.register(transport);
+        transport.lifecycleStateChange(Lifecycle.RUNNING);
+
+        consumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+    }
+
+    @Test
+    public void commitsOffsetsOfHandedOffRecordsAfterEachBatch() {
+        final KafkaTransport.ConsumerRunnable runnable = transport.new ConsumerRunnable(consumer, input, consumersStopped);
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0, PARTITION_1));
+            addRecords(PARTITION_0, 3);
+            addRecords(PARTITION_1, 1);
+        });
+        consumer.schedulePollTask(transport::doStop);
+
+        runnable.run();
+
+        final ArgumentCaptor<Collection<RawMessage>> messages = ArgumentCaptor.captor();
+        verify(input).processRawMessages(messages.capture());
+        assertThat(messages.getValue()).hasSize(4);
+
+        assertThat(consumer.commits).first().satisfies(commit -> {
+            assertThat(commit.sync()).isFalse();
+            assertThat(commit.offsets()).isEqualTo(Map.of(
+                    PARTITION_0, new OffsetAndMetadata(3),
+                    PARTITION_1, new OffsetAndMetadata(1)));
+        });
+        assertThat(consumersStopped.getCount()).isZero();
+    }
+
+    @Test
+    public void commitsOffsetsSynchronouslyWhenPartitionsAreRevoked() {
+        final KafkaTransport.ConsumerRunnable runnable = transport.new ConsumerRunnable(consumer, input, consumersStopped);
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0, PARTITION_1));
+            addRecords(PARTITION_0, 2);
+            addRecords(PARTITION_1, 2);
+        });
+        consumer.schedulePollTask(() -> consumer.rebalance(List.of(PARTITION_1)));
+        consumer.schedulePollTask(transport::doStop);
+
+        runnable.run();
+
+        assertThat(consumer.commits).hasSize(3);
+        assertThat(consumer.commits.get(1)).isEqualTo(new Commit(true, Map.of(PARTITION_0, new OffsetAndMetadata(2))));
+        // the revoked partition is not committed again on shutdown
+        assertThat(consumer.commits.get(2)).isEqualTo(new Commit(true, Map.of(PARTITION_1, new OffsetAndMetadata(2))));
+    }
+
+    @Test
+    public void commitsOffsetsSynchronouslyOnShutdown() {
+        final KafkaTransport.ConsumerRunnable runnable = transport.new ConsumerRunnable(consumer, input, consumersStopped);
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0));
+            addRecords(PARTITION_0, 5);
+        });
+        consumer.schedulePollTask(transport::doStop);
+
+        runnable.run();
+
+        assertThat(consumer.commits).containsExactly(
+                new Commit(false, Map.of(PARTITION_0, new OffsetAndMetadata(5))),
+                new Commit(true, Map.of(PARTITION_0, new OffsetAndMetadata(5))));
+        assertThat(consumer.closed()).isTrue();
+    }
+
+    @Test
+    public void doesNotCommitRecordsPolledAfterStopping() {
+        final KafkaTransport.ConsumerRunnable runnable = transport.new ConsumerRunnable(consumer, input, consumersStopped);
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0));
+            addRecords(PARTITION_0, 5);
+            transport.doStop();
+        });
+
+        runnable.run();
+
+        verify(input, never()).processRawMessages(any());
+        assertThat(consumer.commits).isEmpty();
+    }
+
+    private void addRecords(TopicPartition partition, int count) {
+        for (int offset = 0; offset < count; offset++) {
+            consumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), offset, null,
+                    ("message-" + offset).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private record Commit(boolean sync, Map<TopicPartition, OffsetAndMetadata> offsets) {}
+
+    private static class RecordingConsumer extends MockConsumer<byte[], byte[]> {
+        private final List<Commit> commits = new ArrayList<>();
+
+        RecordingConsumer() {
+            super("earliest");
+        }
+
+        @Override
+        public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets, Duration timeout) {
+            commits.add(new Commit(true, Map.copyOf(offsets)));
+            super.commitSync(offsets, timeout);
+        }
+
+        @Override
+        public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
+            commits.add(new Commit(false, Map.copyOf(offsets)));
+            super.commitAsync(offsets, callback);
+        }
+    }
+}
@@ -53,7 +53,7 @@ class IndexSetAwareMessageOutputBufferTest {
     @BeforeEach
     void setUp(MessageFactory messageFactory) {
         this.messageFactory = messageFactory;
-        this.buffer = new IndexSetAwareMessageOutputBuffer(BatchSizeConfig.forCount(5),
+        this.buffer = new IndexSetAwareMessageOutputBuffer(BatchSizeConfig.forCount(5), 3,
                 new ObjectMapperProvider().get());
     }
 
@@ -110,6 +110,41 @@ class IndexSetAwareMessageOutputBufferTest {
         verify(flusher, times(2)).accept(List.of());
     }
 
+    @Test
+    void bufferSizeLimitsAllStripesTogether() throws InterruptedException {
+        final var messages = createNMessages(6);
+
+        final Thread thread1 = new Thread(() -> messages.subList(0, 3).forEach(message -> buffer.appendAndFlush(message, flusher)));
+        final Thread thread2 = new Thread(() -> messages.subList(3, 6).forEach(message -> buffer.appendAndFlush(message, flusher)));
+        thread1.start();
+        thread1.join();
+        thread2.start();
+        thread2.join();
+
+        // The 5th message fills the buffer, although neither stripe holds 5 messages on its own
+        verify(flusher, times(1)).accept(messages.subList(0, 5));
+        verifyNoMoreInteractions(flusher);
+    }
+
+    @Test
+    void flushMergesStripesOfAllThreads() throws InterruptedException {
+        final var messages = createNMessages(4);
+
+        final Thread thread1 = new Thread(() -> messages.subList(0, 2).forEach(message -> buffer.appendAndFlush(message, flusher)));
+        final Thread thread2 = new Thread(() -> messages.subList(2, 4).forEach(message -> buffer.appendAndFlush(message, flusher)));
+        thread1.start();
+        thread1.join();
+        thread2.start();
+        thread2.join();
+
+        verifyNoInteractions(flusher);
+
+        buffer.flush(flusher);
+
+        verify(flusher, times(1)).accept(messages);
+        verifyNoMoreInteractions(flusher);
+    }
+
     private List<FilteredMessage> createNMessages(int num) {
         return IntStream.range(1, num + 1)
                 .mapToObj(i -> createMessage("" + i, Set.of()))
@@ -16,8 +16,12 @@
  */
 package org.graylog2.periodical;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ThroughputCalculatorTest {
@@ -26,4 +30,19 @@ public class ThroughputCalculatorTest {
     public void testStreamMetricFilter() {
         assertTrue(ThroughputCalculator.streamMetricFilter.matches("org.graylog2.plugin.streams.Stream.579657c468e16405f90345b0.incomingMessages", null), "Filter should match stream incomingMessages");
     }
+
+    @Test
+    public void testStreamRateGauge() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final Meter meter = metricRegistry.meter("org.graylog2.plugin.streams.Stream.579657c468e16405f90345b0.incomingMessages");
+        final ThroughputCalculator throughputCalculator = new ThroughputCalculator(metricRegistry);
+
+        meter.mark(3);
+        throughputCalculator.doRun();
+        meter.mark(5);
+        throughputCalculator.doRun();
+
+        final Gauge<?> rate = metricRegistry.getGauges().get("org.graylog2.plugin.streams.Stream.579657c468e16405f90345b0.incomingMessages.1-sec-rate");
+        assertEquals(5d, rate.getValue());
+    }
 }
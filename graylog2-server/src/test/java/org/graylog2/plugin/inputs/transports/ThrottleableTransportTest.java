@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.plugin.inputs.transports;
+
+import com.codahale.metrics.MetricSet;
+import com.google.common.eventbus.EventBus;
+import org.graylog2.plugin.ThrottleState;
+import org.graylog2.plugin.configuration.Configuration;
+import org.graylog2.plugin.inputs.MessageInput;
+import org.graylog2.plugin.inputs.codecs.CodecAggregator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThrottleableTransportTest {
+    private final TestTransport transport = new TestTransport();
+
+    @Test
+    void throttlesWhenProcessBufferIsFull() {
+        final ThrottleState state = state();
+        state.processBufferCapacity = 0;
+
+        assertThat(transport.determineIfThrottled(state)).isTrue();
+    }
+
+    @Test
+    void throttlesWhenOutputBufferIsFull() {
+        final ThrottleState state = state();
+        state.outputBufferCapacity = 0;
+
+        assertThat(transport.determineIfThrottled(state)).isTrue();
+    }
+
+    @Test
+    void doesNotThrottleWithCapacityInBothBuffers() {
+        assertThat(transport.determineIfThrottled(state())).isFalse();
+    }
+
+    private static ThrottleState state() {
+        // some journal entries, but nothing being written or read, so nothing else calls for throttling
+        final ThrottleState state = new ThrottleState();
+        state.uncommittedJournalEntries = 10;
+        state.processBufferCapacity = 1024;
+        state.outputBufferCapacity = 1024;
+        state.journalSizeLimit = 1024 * 1024;
+        return state;
+    }
+
+    private static class TestTransport extends ThrottleableTransport {
+        TestTransport() {
+            super(new EventBus(), new Configuration(Map.of(CK_THROTTLING_ALLOWED, true)));
+        }
+
+        @Override
+        protected void doLaunch(MessageInput input) {
+        }
+
+        @Override
+        protected void doStop() {
+        }
+
+        @Override
+        public void setMessageAggregator(CodecAggregator aggregator) {
+        }
+
+        @Override
+        public MetricSet getMetricSet() {
+            return null;
+        }
+    }
+}
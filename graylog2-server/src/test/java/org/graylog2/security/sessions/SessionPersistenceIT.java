@@ -16,7 +16,9 @@
  */
 package org.graylog2.security.sessions;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.github.joschi.jadconfig.util.Duration;
 import com.google.common.eventbus.EventBus;
 import org.apache.shiro.authc.SimpleAccount;
 import org.apache.shiro.session.InvalidSessionException;
@@ -208,10 +210,41 @@ class SessionPersistenceIT {
                 assertThat(sessionDTO.expired()).isTrue());
     }
 
+    @Test
+    void coalescesSessionTouches() {
+        final var referenceTime = Instant.now().truncatedTo(ChronoUnit.MILLIS).minus(1, ChronoUnit.HOURS);
+        final var sessionDAO = new SessionDAO(sessionService, eventBus, Duration.seconds(10), new MetricRegistry());
+
+        final var session = new SimpleSession("localhost");
+        session.setLastAccessTime(Date.from(referenceTime));
+        final var sessionId = (String) sessionDAO.create(session);
+
+        session.setLastAccessTime(Date.from(referenceTime.plusSeconds(5)));
+        sessionDAO.update(session);
+
+        assertThat(sessionService.getBySessionId(sessionId)).hasValueSatisfying(sessionDTO ->
+                assertThat(sessionDTO.lastAccessTime()).isEqualTo(referenceTime));
+
+        session.setLastAccessTime(Date.from(referenceTime.plusSeconds(10)));
+        sessionDAO.update(session);
+
+        assertThat(sessionService.getBySessionId(sessionId)).hasValueSatisfying(sessionDTO ->
+                assertThat(sessionDTO.lastAccessTime()).isEqualTo(referenceTime.plusSeconds(10)));
+
+        session.setLastAccessTime(Date.from(referenceTime.plusSeconds(11)));
+        session.setAttribute(USERNAME_SESSION_KEY, "test-user-name");
+        sessionDAO.update(session);
+
+        assertThat(sessionService.getBySessionId(sessionId)).hasValueSatisfying(sessionDTO -> {
+            assertThat(sessionDTO.lastAccessTime()).isEqualTo(referenceTime.plusSeconds(11));
+            assertThat(sessionDTO.userName()).hasValue("test-user-name");
+        });
+    }
+
     // The session DAO is caching sessions, but we want to make sure that every operation is hitting the database,
     // therefore we create fresh instances for each operation.
     SessionDAO sessionDAO() {
-        return new SessionDAO(sessionService, eventBus);
+        return new SessionDAO(sessionService, eventBus, Duration.seconds(0), new MetricRegistry());
     }
 
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2020 Graylog, Inc.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the Server Side Public License, version 1,
+ * as published by MongoDB, Inc.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * Server Side Public License for more details.
+ *
+ * You should have received a copy of the Server Side Public License
+ * along with this program. If not, see
+ * <http://www.mongodb.com/licensing/server-side-public-license>.
+ */
+package org.graylog2.shared.buffers;
+
+import com.codahale.metrics.MetricRegistry;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import org.graylog2.plugin.BaseConfiguration;
+import org.graylog2.plugin.journal.RawMessage;
+import org.graylog2.system.processing.ProcessingStatusRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InputBufferImplTest {
+    private static final int RING_SIZE = 4;
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ProcessBuffer processBuffer = mock(ProcessBuffer.class);
+    private InputBufferImpl inputBuffer;
+
+    @BeforeEach
+    void setUp() {
+        final BaseConfiguration configuration = mock(BaseConfiguration.class);
+        when(configuration.getInputBufferRingSize()).thenReturn(RING_SIZE);
+        when(configuration.getInputBufferWaitStrategy()).thenReturn(new BlockingWaitStrategy());
+        when(configuration.getInputbufferProcessors()).thenReturn(1);
+        when(configuration.isMessageJournalEnabled()).thenReturn(false);
+
+        final DirectMessageHandler handler = new DirectMessageHandler(processBuffer, mock(ProcessingStatusRecorder.class));
+        inputBuffer = new InputBufferImpl(metricRegistry, configuration, () -> handler, () -> null, () -> null);
+    }
+
+    @Test
+    void insertsBatchLargerThanRingBufferInChunks() {
+        final List<RawMessage> messages = IntStream.range(0, 2 * RING_SIZE + 2)
+                .mapToObj(i -> new RawMessage(("message-" + i).getBytes(StandardCharsets.UTF_8)))
+                .toList();
+
+        inputBuffer.insert(messages);
+
+        final ArgumentCaptor<RawMessage> captor = ArgumentCaptor.forClass(RawMessage.class);
+        verify(processBuffer, timeout(10_000).times(messages.size())).insertBlocking(captor.capture());
+        assertThat(captor.getAllValues()).containsExactlyElementsOf(messages);
+        assertThat(metricRegistry.meter(MetricRegistry.name(InputBufferImpl.class, "incomingMessages")).getCount())
+                .isEqualTo(messages.size());
+    }
+
+    @Test
+    void ignoresEmptyBatch() {
+        inputBuffer.insert(List.of());
+
+        assertThat(inputBuffer.getUsage()).isZero();
+        assertThat(metricRegistry.meter(MetricRegistry.name(InputBufferImpl.class, "incomingMessages")).getCount())
+                .isZero();
+    }
+}
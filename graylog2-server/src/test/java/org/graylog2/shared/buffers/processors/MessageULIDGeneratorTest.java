@@ -95,6 +95,16 @@ public class MessageULIDGeneratorTest {
         assertThat(parsedULID.timestamp()).isEqualTo(ts);
     }
 
+    @Test
+    public void encodesLikeULIDValue() {
+        final MessageULIDGenerator generator = new MessageULIDGenerator(new ULID());
+
+        for (int seq = 0; seq < 1000; seq++) {
+            final String ulid = generator.createULID(Tools.nowUTC().getMillis(), seq * 65_537);
+            assertThat(ULID.parseULID(ulid).toString()).isEqualTo(ulid);
+        }
+    }
+
     @Test
     public void doesNotAcceptTooLargeTimestamp() {
         final MessageULIDGenerator generator = new MessageULIDGenerator(new ULID());
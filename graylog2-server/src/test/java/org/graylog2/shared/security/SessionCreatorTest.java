@@ -16,6 +16,8 @@
  */
 package org.graylog2.shared.security;
 
+import com.codahale.metrics.MetricRegistry;
+import com.github.joschi.jadconfig.util.Duration;
 import com.google.common.collect.ImmutableList;
 import com.google.common.eventbus.EventBus;
 import org.apache.commons.lang3.StringUtils;
@@ -98,7 +100,7 @@ public class SessionCreatorTest {
         // (auth listeners, strategy, session manager, subject DAO) instead of duplicating it. A change to
         // DefaultSecurityManagerProvider that breaks session attribute persistence should fail tests here.
         securityManager = new DefaultSecurityManagerProvider(
-                new SessionDAO(mock(SessionService.class), new EventBus()),
+                new SessionDAO(mock(SessionService.class), new EventBus(), Duration.seconds(0), new MetricRegistry()),
                 Map.of(),
                 mock(InMemoryRolePermissionResolver.class),
                 new TestOrderedAuthenticatingRealms(List.of(realm))
@@ -41,4 +41,14 @@ public class StreamMetricsTest {
         assertThat(metricRegistry.getTimers())
                 .containsKey("org.graylog2.plugin.streams.Stream.stream-id.StreamRule.stream-rule-id.executionTime");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void markIncomingMeterReusesMeter() {
+        streamMetrics.markIncomingMeter("stream-id");
+        streamMetrics.markIncomingMeter("stream-id");
+
+        assertThat(metricRegistry.getMeters())
+                .hasEntrySatisfying("org.graylog2.plugin.streams.Stream.stream-id.incomingMessages",
+                        meter -> assertThat(meter.getCount()).isEqualTo(2));
+    }
+}
@@ -46,6 +46,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -206,4 +207,23 @@ public class StreamServiceImplTest {
         // Cache is invalidated; next call recomputes from DB
         assertThat(streamService.getSystemStreamIds(false)).isEmpty();
     }
+
+    @Test
+    @MongoDBFixtures("systemAndDefaultStreams.json")
+    public void allStreamIdsCacheIsInvalidatedOnStreamChange() {
+        final String systemStreamId = "aaaaaaaaaaaaaaaaaaaaaaaa";
+        final List<String> allStreamIds = streamCache.getAllStreamIds();
+        assertThat(allStreamIds).contains(systemStreamId);
+
+        mongoCollections.nonEntityCollection("streams", Document.class)
+                .deleteOne(Filters.eq("_id", new ObjectId(systemStreamId)));
+
+        assertThat(streamCache.getAllStreamIds()).isEqualTo(allStreamIds);
+
+        localEventBus.post(StreamsChangedEvent.create(systemStreamId));
+
+        assertThat(streamCache.getAllStreamIds())
+                .hasSize(allStreamIds.size() - 1)
+                .doesNotContain(systemStreamId);
+    }
 }